@@ -0,0 +1,18 @@
+#!/usr/bin/env bash
+# Runs the JMH suites with the GC allocation profiler and stores the results under
+# results/<commit>.json so runs from different commits can be compared with
+# ResultComparator. Extra arguments are passed to JMH (e.g. a benchmark regex).
+set -euo pipefail
+
+cd "$(dirname "$0")"
+(cd .. && mvn -q install -DskipTests)
+mvn -q package
+
+commit=$(git rev-parse --short HEAD)
+if ! git diff --quiet HEAD -- ..; then
+    commit="${commit}-dirty"
+fi
+mkdir -p results
+
+java -jar target/benchmarks.jar -prof gc -rf json -rff "results/${commit}.json" "$@" | tee "results/${commit}.txt"
+echo "Results written to results/${commit}.json"
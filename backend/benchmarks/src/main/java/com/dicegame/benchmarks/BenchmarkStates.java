@@ -0,0 +1,40 @@
+package com.dicegame.benchmarks;
+
+import com.dicegame.dto.GameStateDto;
+import com.dicegame.dto.PlayerView;
+import com.dicegame.dto.RollView;
+import com.dicegame.model.GameEngine;
+import com.dicegame.model.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Builds response DTOs the way GameService does, for benchmarks that run without Spring. */
+final class BenchmarkStates {
+
+    private BenchmarkStates() {}
+
+    static GameStateDto gameState(GameEngine game) {
+        List<PlayerView> players = new ArrayList<>();
+        for (Player player : game.getPlayers()) {
+            players.add(PlayerView.of(player));
+        }
+        List<RollView> rolls = new ArrayList<>();
+        for (GameEngine.DiceRoll roll : game.getCurrentRoundRolls()) {
+            rolls.add(RollView.of(roll));
+        }
+        return new GameStateDto(
+            game.getGameId(),
+            game.getMode().name().toLowerCase(),
+            game.getMaxRounds(),
+            game.getCurrentRound(),
+            game.getStatus().name().toLowerCase(),
+            game.getRngType().name().toLowerCase(),
+            0L,
+            players,
+            rolls,
+            game.isGameComplete(),
+            game.isRoundComplete(),
+            null);
+    }
+}
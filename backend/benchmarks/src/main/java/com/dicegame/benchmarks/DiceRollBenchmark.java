@@ -0,0 +1,77 @@
+package com.dicegame.benchmarks;
+
+import com.dicegame.model.Dice;
+import com.dicegame.model.DiceRng;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dice.roll() throughput for each RNG, single threaded and contended. The
+ * sharedRandom variants reproduce the old static java.util.Random as a baseline.
+ * Run with {@code -t N} to try other thread counts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class DiceRollBenchmark {
+
+    private static final Random SHARED_RANDOM = new Random();
+
+    @State(Scope.Thread)
+    public static class PerThreadDice {
+        @Param({"THREAD_LOCAL", "SPLITTABLE", "L64X128", "COUNTER"})
+        public DiceRng.Type rng;
+
+        public Dice dice;
+
+        @Setup
+        public void setUp() {
+            dice = new Dice(DiceRng.create(rng, 42L));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int roll1Thread(PerThreadDice state) {
+        return state.dice.roll();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int roll4Threads(PerThreadDice state) {
+        return state.dice.roll();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int rollMaxThreads(PerThreadDice state) {
+        return state.dice.roll();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int sharedRandom1Thread() {
+        return SHARED_RANDOM.nextInt(6) + 1;
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int sharedRandomMaxThreads() {
+        return SHARED_RANDOM.nextInt(6) + 1;
+    }
+}
@@ -0,0 +1,78 @@
+package com.dicegame.benchmarks;
+
+import com.dicegame.model.DiceRng;
+import com.dicegame.model.GameEngine;
+import com.dicegame.model.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One operation is a full round: every player rolls once, then the engine moves
+ * to the next round. Compares the name-based API with the slot-based path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameEngineRollBenchmark {
+
+    private static final int ROUNDS_PER_GAME = 1_000;
+
+    @Param({"2", "8", "64"})
+    public int playerCount;
+
+    private GameEngine engine;
+    private String[] names;
+    private int[] slots;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new GameEngine("benchmark", GameEngine.GameMode.PVP, ROUNDS_PER_GAME,
+            DiceRng.Type.COUNTER, 42L, playerCount);
+        names = new String[playerCount];
+        slots = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            names[i] = "Player " + (i + 1);
+            slots[i] = engine.addPlayer(new Player(names[i], false));
+        }
+    }
+
+    @Benchmark
+    public void roundBySlot(Blackhole blackhole) {
+        for (int slot : slots) {
+            blackhole.consume(engine.roll(slot));
+        }
+        advance();
+    }
+
+    @Benchmark
+    public void roundByName(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(engine.rollDice(name));
+        }
+        advance();
+    }
+
+    private void advance() {
+        if (engine.isGameComplete()) {
+            engine.resetGame();
+        } else {
+            engine.nextRound();
+        }
+    }
+}
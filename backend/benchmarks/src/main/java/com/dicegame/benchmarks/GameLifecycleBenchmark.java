@@ -0,0 +1,51 @@
+package com.dicegame.benchmarks;
+
+import com.dicegame.model.DiceRng;
+import com.dicegame.model.GameEngine;
+import com.dicegame.model.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A complete two-player game per operation: create the engine, seat the players,
+ * play every round through the name-based API and read the winner.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class GameLifecycleBenchmark {
+
+    @Param({"5", "100", "1000"})
+    public int rounds;
+
+    private long gameCounter;
+
+    @Benchmark
+    public Player playFullGame() {
+        GameEngine game = new GameEngine("game-" + gameCounter, GameEngine.GameMode.PVC, rounds,
+            DiceRng.Type.COUNTER, gameCounter++);
+        game.addPlayer(new Player("Player 1", false));
+        game.addPlayer(new Player("Computer", true));
+        while (!game.isGameComplete()) {
+            game.rollDice("Player 1");
+            game.rollDice("Computer");
+            if (game.isRoundComplete()) {
+                game.nextRound();
+            }
+        }
+        return game.getGameWinner();
+    }
+}
@@ -0,0 +1,104 @@
+package com.dicegame.benchmarks;
+
+import com.dicegame.DiceGameApplication;
+import com.dicegame.dto.DiceRollResponse;
+import com.dicegame.dto.GameStateDto;
+import com.dicegame.dto.StartGameRequest;
+import com.dicegame.service.GameService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameService.rollDice through the executor stripes, including building the
+ * GameStateDto snapshot. The server plays the computer's turn, so each human roll
+ * also rolls for the computer and the response carries both. Runs in a Spring
+ * context without the web layer; each benchmark thread drives its own game. The
+ * event log is off, so this measures the in-memory path rather than the disk's
+ * fsync latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class GameServiceRollBenchmark {
+
+    private static final int ROUNDS = 1_000;
+
+    @State(Scope.Benchmark)
+    public static class Application {
+        public ConfigurableApplicationContext context;
+        public GameService gameService;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(DiceGameApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN", "logging.level.com.dicegame=WARN",
+                    "dicegame.eventlog.enabled=false", "dicegame.computer.server-turns=true",
+                    "dicegame.computer.turn-delay-ms=0")
+                .run();
+            gameService = context.getBean(GameService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Game {
+        public String gameId;
+
+        @Setup(Level.Trial)
+        public void start(Application application) {
+            gameId = newGame(application.gameService);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public DiceRollResponse round1Thread(Application application, Game game) {
+        return playRound(application.gameService, game);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public DiceRollResponse round4Threads(Application application, Game game) {
+        return playRound(application.gameService, game);
+    }
+
+    private static DiceRollResponse playRound(GameService gameService, Game game) {
+        // The computer's roll is made on the server and returned with this response
+        DiceRollResponse response = gameService.rollDice(game.gameId, "Player 1");
+        if (response.getGameState().gameComplete()) {
+            gameService.deleteGame(game.gameId);
+            game.gameId = newGame(gameService);
+        } else {
+            gameService.nextRound(game.gameId);
+        }
+        return response;
+    }
+
+    private static String newGame(GameService gameService) {
+        GameStateDto state = gameService.startGame(new StartGameRequest("pvc", ROUNDS));
+        return state.gameId();
+    }
+}
@@ -0,0 +1,72 @@
+package com.dicegame.benchmarks;
+
+import com.dicegame.dto.DiceRollResponse;
+import com.dicegame.dto.GameStateDto;
+import com.dicegame.model.DiceRng;
+import com.dicegame.model.GameEngine;
+import com.dicegame.model.Player;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the two hot response bodies, configured the way
+ * Spring Boot configures its ObjectMapper (JavaTimeModule, ISO dates).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private GameStateDto gameState;
+    private DiceRollResponse rollResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        GameEngine game = new GameEngine("json-benchmark", GameEngine.GameMode.PVC, 10, DiceRng.Type.COUNTER, 42L);
+        game.addPlayer(new Player("Player 1", false));
+        game.addPlayer(new Player("Computer", true));
+        game.rollDice("Player 1");
+        GameEngine.DiceRoll roll = game.rollDice("Computer");
+
+        gameState = BenchmarkStates.gameState(game);
+
+        rollResponse = new DiceRollResponse();
+        rollResponse.setPlayerName(roll.getPlayerName());
+        rollResponse.setValue(roll.getValue());
+        rollResponse.setTimestamp(LocalDateTime.now());
+        rollResponse.setGameState(gameState);
+    }
+
+    @Benchmark
+    public byte[] gameStateDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(gameState);
+    }
+
+    @Benchmark
+    public byte[] diceRollResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(rollResponse);
+    }
+}
@@ -0,0 +1,249 @@
+package com.dicegame.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load against a running backend: every client keeps exactly one
+ * request in flight, so the number of clients is the offered concurrency. Clients
+ * are asynchronous request chains rather than threads, which lets one process hold
+ * 10k+ of them open. Used to compare the server on platform and virtual threads.
+ * Usage:
+ * {@code java -cp target/benchmarks.jar com.dicegame.benchmarks.LoadGenerator [url=http://localhost:8080]
+ * [scenario=roll|end] [clients=10000] [warmup=10] [seconds=30]}
+ *
+ * <p>{@code roll} plays PVC games of 1000 rounds and times the human roll of every
+ * round, whose response also carries the computer roll the server made;
+ * {@code end} starts a game and times ending it. Throughput and latency cover the
+ * timed requests only; errors count every failed request.
+ */
+public final class LoadGenerator {
+
+    private static final int ROUNDS = 1_000;
+    private static final String JSON = "application/json";
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String scenario;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong();
+    private volatile boolean recording;
+    private volatile boolean stopped;
+
+    private LoadGenerator(String baseUrl, String scenario, ExecutorService callbacks) {
+        this.baseUrl = baseUrl;
+        this.scenario = scenario;
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .executor(callbacks)
+            .build();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new LinkedHashMap<>(Map.of(
+            "url", "http://localhost:8080", "scenario", "roll", "clients", "10000", "warmup", "10", "seconds", "30"));
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split < 0 || !options.containsKey(arg.substring(0, split))) {
+                System.err.println("Unknown option " + arg + "; expected one of " + options.keySet());
+                System.exit(2);
+            }
+            options.put(arg.substring(0, split), arg.substring(split + 1));
+        }
+        String scenario = options.get("scenario");
+        if (!scenario.equals("roll") && !scenario.equals("end")) {
+            System.err.println("scenario must be roll or end");
+            System.exit(2);
+        }
+        int clients = Integer.parseInt(options.get("clients"));
+        int warmupSeconds = Integer.parseInt(options.get("warmup"));
+        int seconds = Integer.parseInt(options.get("seconds"));
+
+        ExecutorService callbacks = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        LoadGenerator generator = new LoadGenerator(options.get("url"), scenario, callbacks);
+        System.out.printf("%d %s clients against %s: %ds warmup, %ds measured%n",
+            clients, scenario, options.get("url"), warmupSeconds, seconds);
+        for (int i = 0; i < clients; i++) {
+            generator.startClient();
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        generator.errors.set(0);
+        generator.recording = true;
+        long started = System.nanoTime();
+        TimeUnit.SECONDS.sleep(seconds);
+        generator.recording = false;
+        long elapsed = System.nanoTime() - started;
+        generator.stopped = true;
+
+        generator.report(elapsed);
+        callbacks.shutdownNow();
+        System.exit(0);
+    }
+
+    private void startClient() {
+        startGame().thenAccept(gameId -> {
+            if (scenario.equals("roll")) {
+                playRounds(gameId, 1);
+            } else {
+                endAndRestart(gameId);
+            }
+        });
+    }
+
+    private CompletableFuture<String> startGame() {
+        String body = "{\"mode\":\"pvc\",\"rounds\":" + (scenario.equals("roll") ? ROUNDS : 1) + "}";
+        return send("/api/game/start", body, false).thenApply(response -> {
+            try {
+                return objectMapper.readTree(response).path("gameId").asText();
+            } catch (Exception e) {
+                throw new IllegalStateException("Unreadable start response", e);
+            }
+        }).exceptionallyCompose(error -> retry(this::startGame));
+    }
+
+    private void playRounds(String gameId, int round) {
+        if (stopped) {
+            return;
+        }
+        // The server rolls for the computer and returns its roll with the human's
+        send("/api/game/" + gameId + "/roll", "{\"playerName\":\"Player 1\"}", true)
+            .thenCompose(ignored -> round < ROUNDS
+                ? send("/api/game/" + gameId + "/next-round", "", false).thenApply(next -> gameId)
+                : send("/api/game/" + gameId + "/end", "", false).thenCompose(end -> startGame()))
+            .whenComplete((nextGameId, error) -> {
+                if (error != null) {
+                    // The game is in an unknown state after a failure; continue with a fresh one
+                    startGame().thenAccept(fresh -> playRounds(fresh, 1));
+                } else if (nextGameId.equals(gameId)) {
+                    playRounds(gameId, round + 1);
+                } else {
+                    playRounds(nextGameId, 1);
+                }
+            });
+    }
+
+    private void endAndRestart(String gameId) {
+        if (stopped) {
+            return;
+        }
+        send("/api/game/" + gameId + "/end", "", true)
+            .handle((ignored, error) -> null)
+            .thenCompose(ignored -> startGame())
+            .thenAccept(this::endAndRestart);
+    }
+
+    private CompletableFuture<byte[]> send(String path, String body, boolean timed) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(60))
+            .header("Content-Type", JSON)
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        long started = System.nanoTime();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).handle((response, error) -> {
+            boolean ok = error == null && response.statusCode() == 200;
+            if (recording) {
+                if (!ok) {
+                    errors.incrementAndGet();
+                } else if (timed) {
+                    latencies.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+                }
+            }
+            if (!ok) {
+                throw new IllegalStateException(error != null ? error.toString() : "HTTP " + response.statusCode());
+            }
+            return response.body();
+        });
+    }
+
+    // Backs off briefly so a refused connection does not turn into a busy loop
+    private <T> CompletableFuture<T> retry(Supplier<CompletableFuture<T>> action) {
+        if (stopped) {
+            return new CompletableFuture<>();
+        }
+        return CompletableFuture.supplyAsync(() -> null, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS))
+            .thenCompose(ignored -> action.get());
+    }
+
+    private void report(long elapsedNanos) {
+        long count = latencies.count();
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("requests %d, errors %d, throughput %.0f req/s%n", count, errors.get(), count / seconds);
+        System.out.printf("latency us: p50 %d, p90 %d, p99 %d, p99.9 %d, max %d%n",
+            latencies.percentile(0.50), latencies.percentile(0.90), latencies.percentile(0.99),
+            latencies.percentile(0.999), latencies.max());
+    }
+
+    /**
+     * Log-linear histogram of microsecond latencies: 16 sub-buckets per power of two,
+     * so every value is reported within about 6% of its true size.
+     */
+    static final class LatencyHistogram {
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long micros) {
+            counts.incrementAndGet(index(micros));
+            total.incrementAndGet();
+            max.accumulateAndGet(micros, Math::max);
+        }
+
+        long count() {
+            return total.get();
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        long percentile(double fraction) {
+            long rank = (long) Math.ceil(fraction * total.get());
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= rank && seen > 0) {
+                    return upperBound(i);
+                }
+            }
+            return 0;
+        }
+
+        private static int index(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+            int subBucket = (int) (value >>> exponent) & (SUB_BUCKETS - 1);
+            return (exponent + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        private static long upperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int exponent = index / SUB_BUCKETS - 1;
+            long subBucket = index % SUB_BUCKETS;
+            return ((SUB_BUCKETS + subBucket + 1) << exponent) - 1;
+        }
+    }
+}
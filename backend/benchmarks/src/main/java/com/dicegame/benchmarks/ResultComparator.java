@@ -0,0 +1,64 @@
+package com.dicegame.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files (from {@code -rf json}) and prints the score
+ * and gc.alloc.rate.norm change per benchmark. Usage:
+ * {@code java -cp target/benchmarks.jar com.dicegame.benchmarks.ResultComparator base.json new.json}
+ */
+public final class ResultComparator {
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    private ResultComparator() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ResultComparator <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> candidate = load(new File(args[1]));
+
+        System.out.printf("%-90s %14s %14s %9s %12s %12s%n", "Benchmark", "Baseline", "Candidate", "Change", "B/op base", "B/op new");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double newScore = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s %12s %12s  %s%n", entry.getKey(), "-", newScore, "new",
+                    "-", allocation(after), unit);
+                continue;
+            }
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double change = oldScore != 0 ? (newScore - oldScore) / oldScore * 100 : 0;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %12s %12s  %s%n", entry.getKey(), oldScore, newScore, change,
+                allocation(before), allocation(after), unit);
+        }
+    }
+
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            result.path("params").fields().forEachRemaining(param ->
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            key.append(" t=").append(result.path("threads").asInt());
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static String allocation(JsonNode result) {
+        JsonNode metric = result.path("secondaryMetrics").path(ALLOC_METRIC);
+        return metric.isMissingNode() ? "-" : String.format("%.1f", metric.path("score").asDouble());
+    }
+}
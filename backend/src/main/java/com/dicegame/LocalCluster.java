@@ -0,0 +1,45 @@
+package com.dicegame;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts several nodes in one JVM on consecutive localhost ports, each with its own
+ * in-memory database and event log directory, joined into one cluster. For trying
+ * out routing and handoff without any external infrastructure:
+ * {@code mvn spring-boot:run -Dspring-boot.run.main-class=com.dicegame.LocalCluster -Dspring-boot.run.arguments="3 8081"}
+ */
+public final class LocalCluster {
+    
+    private LocalCluster() {}
+    
+    public static void main(String[] args) {
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int basePort = args.length > 1 ? Integer.parseInt(args[1]) : 8081;
+        
+        // One secret for the whole cluster; pass it as X-Dicegame-Cluster-Secret to change the members
+        String secret = UUID.randomUUID().toString();
+        System.out.println("Cluster secret: " + secret);
+        List<String> members = new ArrayList<>();
+        for (int i = 0; i < nodes; i++) {
+            members.add("http://localhost:" + (basePort + i));
+        }
+        for (int i = 0; i < nodes; i++) {
+            // Passed as arguments, since builder properties rank below application.properties
+            new SpringApplicationBuilder(DiceGameApplication.class).run(
+                "--server.port=" + (basePort + i),
+                "--spring.datasource.url=jdbc:h2:mem:dicegame-node" + i,
+                "--spring.main.banner-mode=off",
+                "--logging.level.com.dicegame=INFO",
+                "--logging.level.org.springframework.web=INFO",
+                "--dicegame.cluster.enabled=true",
+                "--dicegame.cluster.self=" + members.get(i),
+                "--dicegame.cluster.members=" + String.join(",", members),
+                "--dicegame.cluster.secret=" + secret,
+                "--dicegame.eventlog.dir=data/node" + i + "/eventlog");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.dicegame.config;
+
+import com.dicegame.service.ClusterMembership;
+import com.dicegame.service.GameHandoff;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sends per-game requests to the node that owns the game. A request for a game
+ * hosted elsewhere is proxied to the owner, or answered with a 307 redirect when
+ * forwarding is turned off. Does nothing unless clustering is enabled.
+ */
+@Component
+public class GameRoutingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(GameRoutingFilter.class);
+
+    private static final String GAME_PATH = "/api/game/";
+    // Paths under /api/game/ whose first segment is not a game id
+    private static final Set<String> RESERVED = Set.of("start", "batch", "leaderboard", "stats", "simulate");
+    private static final List<String> COPIED_REQUEST_HEADERS =
+        List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT, HttpHeaders.IF_NONE_MATCH);
+    private static final List<String> COPIED_RESPONSE_HEADERS =
+        List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL, HttpHeaders.RETRY_AFTER);
+
+    private final ClusterMembership cluster;
+    private final boolean forward;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    public GameRoutingFilter(ClusterMembership cluster,
+                             @Value("${dicegame.cluster.forward:true}") boolean forward) {
+        this.cluster = cluster;
+        this.forward = forward;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !cluster.isEnabled() || gameIdOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String gameId = gameIdOf(request);
+        // A forwarded request is never routed twice, even if the rings briefly disagree
+        if (cluster.servesLocally(gameId) || isForwarded(request, cluster)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String target = cluster.ownerOf(gameId) + request.getRequestURI()
+            + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        if (!forward) {
+            response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+            response.setHeader(HttpHeaders.LOCATION, target);
+            return;
+        }
+        proxy(request, response, target);
+    }
+
+    private void proxy(HttpServletRequest request, HttpServletResponse response, String target) throws IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(URI.create(target))
+            .timeout(Duration.ofSeconds(10))
+            .header(GameHandoff.FORWARDED_HEADER, cluster.getSelf())
+            .header(GameHandoff.SECRET_HEADER, cluster.getSecret())
+            .method(request.getMethod(), body.length > 0
+                ? HttpRequest.BodyPublishers.ofByteArray(body)
+                : HttpRequest.BodyPublishers.noBody());
+        for (String header : COPIED_REQUEST_HEADERS) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                forwarded.header(header, value);
+            }
+        }
+
+        HttpResponse<byte[]> answer;
+        try {
+            answer = http.send(forwarded.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            log.warn("Forwarding {} {} failed: {}", request.getMethod(), target, e.toString());
+            response.sendError(HttpServletResponse.SC_BAD_GATEWAY);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        response.setStatus(answer.statusCode());
+        for (String header : COPIED_RESPONSE_HEADERS) {
+            answer.headers().firstValue(header).ifPresent(value -> response.setHeader(header, value));
+        }
+        response.getOutputStream().write(answer.body());
+    }
+
+    // Sent by another member; clients can set the forwarded header too, but not the secret
+    static boolean isForwarded(HttpServletRequest request, ClusterMembership cluster) {
+        return request.getHeader(GameHandoff.FORWARDED_HEADER) != null
+            && cluster.isTrusted(request.getHeader(GameHandoff.SECRET_HEADER));
+    }
+    
+    // Null unless the path is under /api/game/{gameId}
+    static String gameIdOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(GAME_PATH)) {
+            return null;
+        }
+        int end = path.indexOf('/', GAME_PATH.length());
+        String gameId = path.substring(GAME_PATH.length(), end < 0 ? path.length() : end);
+        return gameId.isEmpty() || RESERVED.contains(gameId) ? null : gameId;
+    }
+}
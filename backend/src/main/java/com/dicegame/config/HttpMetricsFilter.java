@@ -0,0 +1,66 @@
+package com.dicegame.config;
+
+import com.dicegame.controller.GameController;
+import com.dicegame.metrics.Counter;
+import com.dicegame.metrics.Histogram;
+import com.dicegame.metrics.MetricsRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Times every request handled by {@link GameController}, per handler method. The
+ * meters for each method are registered at startup and found by the resolved
+ * handler after the request, so recording allocates nothing. Requests proxied to
+ * another node never reach a handler and are not counted here. Streamed batch
+ * responses are timed until the handler returns, not until the stream ends.
+ */
+@Component
+public class HttpMetricsFilter extends OncePerRequestFilter {
+
+    private record Endpoint(Histogram latency, Counter failures) {}
+
+    private final Map<Method, Endpoint> endpoints = new HashMap<>();
+
+    public HttpMetricsFilter(MetricsRegistry metrics) {
+        for (Method method : GameController.class.getDeclaredMethods()) {
+            if (AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)) {
+                endpoints.put(method, new Endpoint(
+                    metrics.histogram("dicegame_http_server_requests_seconds",
+                        "Time to handle game API requests", MetricsRegistry.REQUEST_BUCKETS, "handler", method.getName()),
+                    metrics.counter("dicegame_http_server_requests_failed_total",
+                        "Game API requests answered with a 4xx or 5xx status", "handler", method.getName())));
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+            Endpoint endpoint = handler instanceof HandlerMethod handlerMethod ? endpoints.get(handlerMethod.getMethod()) : null;
+            if (endpoint != null) {
+                endpoint.latency().recordSince(started);
+                if (response.getStatus() >= 400) {
+                    endpoint.failures().increment();
+                }
+            }
+        }
+    }
+}
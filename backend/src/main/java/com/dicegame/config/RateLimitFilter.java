@@ -0,0 +1,95 @@
+package com.dicegame.config;
+
+import com.dicegame.service.ClusterMembership;
+import com.dicegame.service.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the per-client and per-game rate limits to the game API, and the client
+ * and start limits to tournament starts, answering with 429 and Retry-After when a
+ * bucket is empty. A batch request is charged once here; its start and game
+ * commands are charged one by one by the batch service. Runs before routing, so a
+ * request is limited by the node the client reached; requests forwarded by
+ * another member, proven by the cluster secret, were limited there and pass through.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String GAME_PATH = "/api/game/";
+    private static final String START_PATH = "/api/game/start";
+    private static final String TOURNAMENT_START_PATH = "/api/tournament/start";
+
+    private final RateLimiter limiter;
+    private final ClusterMembership cluster;
+    private final String clientHeader;
+
+    public RateLimitFilter(RateLimiter limiter,
+                           ClusterMembership cluster,
+                           @Value("${dicegame.ratelimit.client-header:}") String clientHeader) {
+        this.limiter = limiter;
+        this.cluster = cluster;
+        this.clientHeader = clientHeader.isBlank() ? null : clientHeader;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !limiter.isEnabled()
+            || !(request.getRequestURI().startsWith(GAME_PATH, request.getContextPath().length())
+                || isTournamentStart(request))
+            || GameRoutingFilter.isForwarded(request, cluster);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientOf(request);
+        // Batches charge the start and game buckets per command
+        request.setAttribute(RateLimiter.CLIENT_ATTRIBUTE, client);
+        long wait = limiter.tryAcquire(RateLimiter.Scope.CLIENT, client);
+        if (wait == 0 && "POST".equals(request.getMethod())
+                && (request.getRequestURI().startsWith(START_PATH, request.getContextPath().length())
+                    || isTournamentStart(request))) {
+            wait = limiter.tryAcquire(RateLimiter.Scope.CLIENT_START, client);
+        }
+        String gameId = wait == 0 ? GameRoutingFilter.gameIdOf(request) : null;
+        if (gameId != null) {
+            wait = limiter.tryAcquire(RateLimiter.Scope.GAME, gameId);
+        }
+        if (wait > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(RateLimiter.retryAfterSeconds(wait)));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    // A tournament plays up to dicegame.tournament.max-matches games, so it costs at least a game start
+    private static boolean isTournamentStart(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(TOURNAMENT_START_PATH, request.getContextPath().length());
+    }
+
+    // The configured header (e.g. X-Forwarded-For set by a trusted proxy) wins over the peer address
+    private String clientOf(HttpServletRequest request) {
+        if (clientHeader != null) {
+            String value = request.getHeader(clientHeader);
+            if (value != null && !value.isBlank()) {
+                int comma = value.indexOf(',');
+                return (comma < 0 ? value : value.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
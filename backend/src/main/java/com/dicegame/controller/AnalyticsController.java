@@ -0,0 +1,69 @@
+package com.dicegame.controller;
+
+import com.dicegame.dto.ScoreDistributionDto;
+import com.dicegame.dto.HourlyLoadDto;
+import com.dicegame.dto.RoundStatsDto;
+import com.dicegame.dto.WinRateDto;
+import com.dicegame.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.List;
+
+// Time ranges are epoch milliseconds of the game start, from inclusive and to exclusive
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+    
+    @Autowired
+    private AnalyticsService analyticsService;
+    
+    @GetMapping("/scores")
+    public ResponseEntity<List<ScoreDistributionDto>> getScoreDistribution(
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to) {
+        try {
+            return ResponseEntity.ok(analyticsService.getScoreDistribution(from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/rounds")
+    public ResponseEntity<RoundStatsDto> getRoundStats(
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to) {
+        try {
+            return ResponseEntity.ok(analyticsService.getRoundStats(from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/win-rates")
+    public ResponseEntity<List<WinRateDto>> getWinRates(
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to) {
+        try {
+            return ResponseEntity.ok(analyticsService.getWinRates(from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/load")
+    public ResponseEntity<List<HourlyLoadDto>> getHourlyLoad(
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(defaultValue = "UTC") String zone) {
+        try {
+            return ResponseEntity.ok(analyticsService.getHourlyLoad(from, to, ZoneId.of(zone)));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
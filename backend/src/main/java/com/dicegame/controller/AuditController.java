@@ -0,0 +1,42 @@
+package com.dicegame.controller;
+
+import com.dicegame.dto.AuditJobDto;
+import com.dicegame.service.AuditService;
+import com.dicegame.service.OverloadedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/audit")
+@CrossOrigin(origins = "*")
+public class AuditController {
+    
+    @Autowired
+    private AuditService auditService;
+    
+    // Returns at once; poll the job for progress and the mismatches found
+    @PostMapping("/verify")
+    public ResponseEntity<AuditJobDto> startVerification() {
+        try {
+            return ResponseEntity.ok(auditService.startVerification());
+        } catch (OverloadedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    @GetMapping("/verify/{jobId}")
+    public ResponseEntity<AuditJobDto> getJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(auditService.getJob(jobId));
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
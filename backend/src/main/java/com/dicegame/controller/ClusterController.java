@@ -0,0 +1,67 @@
+package com.dicegame.controller;
+
+import com.dicegame.dto.ClusterStateDto;
+import com.dicegame.service.ClusterMembership;
+import com.dicegame.service.GameHandoff;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cluster")
+public class ClusterController {
+    
+    @Autowired
+    private GameHandoff gameHandoff;
+    
+    @Autowired
+    private ClusterMembership cluster;
+    
+    @GetMapping
+    public ResponseEntity<ClusterStateDto> getState() {
+        return ResponseEntity.ok(gameHandoff.getState());
+    }
+    
+    // Set on one node; it passes the list on to the others
+    @PutMapping("/members")
+    public ResponseEntity<ClusterStateDto> setMembers(
+            @RequestBody List<String> members,
+            @RequestHeader(value = GameHandoff.FORWARDED_HEADER, required = false) String forwardedBy,
+            @RequestHeader(value = GameHandoff.SECRET_HEADER, required = false) String secret) {
+        if (!cluster.isTrusted(secret)) {
+            return untrusted();
+        }
+        try {
+            return ResponseEntity.ok(gameHandoff.updateMembers(members, forwardedBy == null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Receives a game handed off by another node
+    @PostMapping(value = "/games", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> acceptGame(
+            @RequestBody byte[] state,
+            @RequestHeader(value = GameHandoff.SECRET_HEADER, required = false) String secret) {
+        if (!cluster.isTrusted(secret)) {
+            return untrusted();
+        }
+        try {
+            gameHandoff.accept(state);
+            return ResponseEntity.ok().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Hidden while clustering is off; otherwise only members and operators holding the secret get in
+    private <T> ResponseEntity<T> untrusted() {
+        return ResponseEntity.status(cluster.isEnabled() ? HttpStatus.FORBIDDEN : HttpStatus.NOT_FOUND).build();
+    }
+}
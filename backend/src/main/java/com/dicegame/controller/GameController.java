@@ -1,12 +1,27 @@
 package com.dicegame.controller;
 
 import com.dicegame.dto.*;
+import com.dicegame.service.BatchCommandService;
 import com.dicegame.service.GameService;
+import com.dicegame.service.OverloadedException;
+import com.dicegame.service.RateLimiter;
+import com.dicegame.service.SimulationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/game")
@@ -16,11 +31,24 @@ public class GameController {
     @Autowired
     private GameService gameService;
     
+    @Autowired
+    private SimulationService simulationService;
+    
+    @Autowired
+    private BatchCommandService batchCommandService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @PostMapping("/start")
     public ResponseEntity<GameStateDto> startGame(@RequestBody StartGameRequest request) {
         try {
             GameStateDto gameState = gameService.startGame(request);
             return ResponseEntity.ok(gameState);
+        } catch (OverloadedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -48,11 +76,21 @@ public class GameController {
         }
     }
     
-    @GetMapping("/{gameId}/state")
-    public ResponseEntity<GameStateDto> getGameState(@PathVariable String gameId) {
+    @GetMapping(value = "/{gameId}/state", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getGameState(
+            @PathVariable String gameId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            GameStateDto gameState = gameService.getGameState(gameId);
-            return ResponseEntity.ok(gameState);
+            String eTag = gameService.getGameStateETag(gameId);
+            if (eTag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+            // Serve the cached JSON of the snapshot; the tag may lag the body but never lead it
+            byte[] gameState = gameService.getGameStateJson(gameId);
+            return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(gameState);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -68,16 +106,92 @@ public class GameController {
         }
     }
     
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchResult>> runBatch(
+            @RequestBody List<BatchCommand> commands,
+            @RequestAttribute(name = RateLimiter.CLIENT_ATTRIBUTE, required = false) String client) {
+        try {
+            return ResponseEntity.ok(batchCommandService.execute(commands, client));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // One command per line in, one result per line out, in command order. Commands are
+    // dispatched while the body is still being read; results stream as they complete.
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> runBatchStream(
+            InputStream body,
+            @RequestAttribute(name = RateLimiter.CLIENT_ATTRIBUTE, required = false) String client) throws IOException {
+        BatchCommandService.Batch batch = batchCommandService.open(client);
+        try (MappingIterator<BatchCommand> commands = objectMapper.readerFor(BatchCommand.class).readValues(body)) {
+            while (commands.hasNextValue()) {
+                if (!batch.submit(commands.nextValue())) {
+                    break;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            batch.reject("Malformed command: " + e.getOriginalMessage());
+        }
+        
+        StreamingResponseBody results = out -> {
+            for (CompletableFuture<BatchResult> result : batch.getResults()) {
+                out.write(objectMapper.writeValueAsBytes(result.join()));
+                out.write('\n');
+                out.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(results);
+    }
+    
     @GetMapping("/leaderboard")
-    public ResponseEntity<List<PlayerStatsDto>> getLeaderboard() {
+    public ResponseEntity<List<PlayerStatsDto>> getLeaderboard(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Read the tag before the data so a concurrent update can only make the tag stale, never the body
+        String eTag = gameService.getLeaderboardETag();
+        if (eTag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         try {
-            List<PlayerStatsDto> leaderboard = gameService.getLeaderboard();
-            return ResponseEntity.ok(leaderboard);
+            List<PlayerStatsDto> leaderboard = gameService.getLeaderboard(page, size);
+            return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(leaderboard);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
     
+    @GetMapping("/stats/pipeline")
+    public ResponseEntity<StatsPipelineMetricsDto> getStatsPipelineMetrics() {
+        return ResponseEntity.ok(gameService.getStatsPipelineMetrics());
+    }
+    
+    @GetMapping("/stats/games")
+    public ResponseEntity<ActiveGameMetricsDto> getActiveGameMetrics() {
+        return ResponseEntity.ok(gameService.getActiveGameMetrics());
+    }
+    
+    // Answered from the simulation pool once the batch is played; the request thread is released meanwhile
+    @PostMapping("/simulate")
+    public CompletableFuture<ResponseEntity<SimulationResultDto>> simulate(@RequestBody SimulationRequest request) {
+        try {
+            return simulationService.simulate(request).thenApply(ResponseEntity::ok);
+        } catch (OverloadedException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .build());
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+    }
+    
     @DeleteMapping("/{gameId}")
     public ResponseEntity<Void> deleteGame(@PathVariable String gameId) {
         try {
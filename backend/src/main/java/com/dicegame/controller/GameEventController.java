@@ -0,0 +1,40 @@
+package com.dicegame.controller;
+
+import com.dicegame.dto.GameStateDto;
+import com.dicegame.dto.TournamentDto;
+import com.dicegame.service.GameService;
+import com.dicegame.service.TournamentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+public class GameEventController {
+    
+    @Autowired
+    private GameService gameService;
+    
+    @Autowired
+    private TournamentService tournamentService;
+    
+    // Subscribing to /app/game/{gameId} returns the current snapshot once; subscribe again to resync
+    @SubscribeMapping("/game/{gameId}")
+    public GameStateDto snapshot(@DestinationVariable String gameId) {
+        return gameService.getGameState(gameId);
+    }
+    
+    // Subscribing to /app/tournament/{tournamentId} returns the current summary once
+    @SubscribeMapping("/tournament/{tournamentId}")
+    public TournamentDto tournamentSnapshot(@DestinationVariable String tournamentId) {
+        return tournamentService.getTournament(tournamentId);
+    }
+    
+    @MessageExceptionHandler
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public String handleException(Exception e) {
+        return e.getMessage();
+    }
+}
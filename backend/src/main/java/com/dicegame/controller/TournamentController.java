@@ -0,0 +1,87 @@
+package com.dicegame.controller;
+
+import com.dicegame.dto.StartTournamentRequest;
+import com.dicegame.dto.TournamentDto;
+import com.dicegame.dto.TournamentMatchDto;
+import com.dicegame.dto.TournamentStandingDto;
+import com.dicegame.service.OverloadedException;
+import com.dicegame.service.TournamentNotFoundException;
+import com.dicegame.service.TournamentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tournament")
+@CrossOrigin(origins = "*")
+public class TournamentController {
+    
+    @Autowired
+    private TournamentService tournamentService;
+    
+    // Returns as soon as the bracket is built; follow /topic/tournament/{id} or poll for progress
+    @PostMapping("/start")
+    public ResponseEntity<TournamentDto> startTournament(@RequestBody StartTournamentRequest request) {
+        try {
+            return ResponseEntity.ok(tournamentService.startTournament(request));
+        } catch (OverloadedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/{tournamentId}")
+    public ResponseEntity<TournamentDto> getTournament(@PathVariable String tournamentId) {
+        try {
+            return ResponseEntity.ok(tournamentService.getTournament(tournamentId));
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{tournamentId}/standings")
+    public ResponseEntity<List<TournamentStandingDto>> getStandings(
+            @PathVariable String tournamentId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(tournamentService.getStandings(tournamentId, page, size));
+        } catch (TournamentNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/{tournamentId}/matches")
+    public ResponseEntity<List<TournamentMatchDto>> getMatches(
+            @PathVariable String tournamentId,
+            @RequestParam(required = false) Integer stage,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(tournamentService.getMatches(tournamentId, stage, page, size));
+        } catch (TournamentNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @DeleteMapping("/{tournamentId}")
+    public ResponseEntity<Void> deleteTournament(@PathVariable String tournamentId) {
+        try {
+            tournamentService.deleteTournament(tournamentId);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.dicegame.dto;
+
+public class ActiveGameMetricsDto {
+    private int liveGames;
+    private int maxGames;
+    private long evictedIdle;
+    private long evictedExpired;
+    private long evictedCapacity;
+    private long retainedBytes;
+    private long averageRetainedBytesPerGame;
+    private double lastSweepMillis;
+    
+    // Getters and Setters
+    public int getLiveGames() { return liveGames; }
+    public void setLiveGames(int liveGames) { this.liveGames = liveGames; }
+    
+    public int getMaxGames() { return maxGames; }
+    public void setMaxGames(int maxGames) { this.maxGames = maxGames; }
+    
+    public long getEvictedIdle() { return evictedIdle; }
+    public void setEvictedIdle(long evictedIdle) { this.evictedIdle = evictedIdle; }
+    
+    public long getEvictedExpired() { return evictedExpired; }
+    public void setEvictedExpired(long evictedExpired) { this.evictedExpired = evictedExpired; }
+    
+    public long getEvictedCapacity() { return evictedCapacity; }
+    public void setEvictedCapacity(long evictedCapacity) { this.evictedCapacity = evictedCapacity; }
+    
+    // Estimated from engine contents at the last sweep
+    public long getRetainedBytes() { return retainedBytes; }
+    public void setRetainedBytes(long retainedBytes) { this.retainedBytes = retainedBytes; }
+    
+    public long getAverageRetainedBytesPerGame() { return averageRetainedBytesPerGame; }
+    public void setAverageRetainedBytesPerGame(long averageRetainedBytesPerGame) { 
+        this.averageRetainedBytesPerGame = averageRetainedBytesPerGame; 
+    }
+    
+    public double getLastSweepMillis() { return lastSweepMillis; }
+    public void setLastSweepMillis(double lastSweepMillis) { this.lastSweepMillis = lastSweepMillis; }
+}
@@ -0,0 +1,21 @@
+package com.dicegame.dto;
+
+import java.util.List;
+
+/** Progress and result of an archive verification; {@code mismatches} holds the first few found. */
+public record AuditJobDto(
+    String jobId,
+    String status,
+    int segments,
+    int segmentsRead,
+    long gamesRead,
+    long matched,
+    long mismatched,
+    long unverifiable,
+    long unreadable,
+    long elapsedMillis,
+    double gamesPerSecond,
+    List<AuditMismatchDto> mismatches,
+    String failure
+) {
+}
@@ -0,0 +1,4 @@
+package com.dicegame.dto;
+
+public record AuditMismatchDto(String gameId, String detail) {
+}
@@ -0,0 +1,71 @@
+package com.dicegame.dto;
+
+public class BatchCommand {
+    private String op; // "start", "roll", "next-round" or "end"
+    private String gameId;
+    private String ref; // optional alias: names the game on "start", selects it on later commands
+    private String playerName; // "roll" only
+    private String mode; // "start" only, as in StartGameRequest
+    private int rounds;
+    private String rng;
+    private Long seed;
+    private Integer players;
+    private Integer dice;
+    private Integer faces;
+    private String scoring;
+    
+    public BatchCommand() {}
+    
+    public BatchCommand(String op, String gameId) {
+        this.op = op;
+        this.gameId = gameId;
+    }
+    
+    public StartGameRequest toStartGameRequest() {
+        StartGameRequest request = new StartGameRequest(mode, rounds);
+        request.setRng(rng);
+        request.setSeed(seed);
+        request.setPlayers(players);
+        request.setDice(dice);
+        request.setFaces(faces);
+        request.setScoring(scoring);
+        return request;
+    }
+    
+    // Getters and Setters
+    public String getOp() { return op; }
+    public void setOp(String op) { this.op = op; }
+    
+    public String getGameId() { return gameId; }
+    public void setGameId(String gameId) { this.gameId = gameId; }
+    
+    public String getRef() { return ref; }
+    public void setRef(String ref) { this.ref = ref; }
+    
+    public String getPlayerName() { return playerName; }
+    public void setPlayerName(String playerName) { this.playerName = playerName; }
+    
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+    
+    public int getRounds() { return rounds; }
+    public void setRounds(int rounds) { this.rounds = rounds; }
+    
+    public String getRng() { return rng; }
+    public void setRng(String rng) { this.rng = rng; }
+    
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
+    
+    public Integer getPlayers() { return players; }
+    public void setPlayers(Integer players) { this.players = players; }
+    
+    public Integer getDice() { return dice; }
+    public void setDice(Integer dice) { this.dice = dice; }
+    
+    public Integer getFaces() { return faces; }
+    public void setFaces(Integer faces) { this.faces = faces; }
+    
+    public String getScoring() { return scoring; }
+    public void setScoring(String scoring) { this.scoring = scoring; }
+}
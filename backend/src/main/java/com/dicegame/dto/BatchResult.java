@@ -0,0 +1,67 @@
+package com.dicegame.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult {
+    public enum ErrorCode {
+        INVALID_COMMAND, GAME_NOT_FOUND, INVALID_STATE, WRONG_NODE, OVERLOADED, RATE_LIMITED, BATCH_LIMIT, INTERNAL_ERROR
+    }
+    
+    private int index; // position of the command in the batch
+    private String op;
+    private String gameId;
+    private String ref;
+    private boolean ok;
+    private Object result; // GameStateDto, DiceRollResponse or GameResultDto, depending on op
+    private Error error;
+    
+    public BatchResult() {}
+    
+    public BatchResult(int index, BatchCommand command) {
+        this.index = index;
+        this.op = command.getOp();
+        this.gameId = command.getGameId();
+        this.ref = command.getRef();
+    }
+    
+    public static class Error {
+        private ErrorCode code;
+        private String message;
+        
+        public Error() {}
+        
+        public Error(ErrorCode code, String message) {
+            this.code = code;
+            this.message = message;
+        }
+        
+        public ErrorCode getCode() { return code; }
+        public void setCode(ErrorCode code) { this.code = code; }
+        
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+    
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    
+    public String getOp() { return op; }
+    public void setOp(String op) { this.op = op; }
+    
+    public String getGameId() { return gameId; }
+    public void setGameId(String gameId) { this.gameId = gameId; }
+    
+    public String getRef() { return ref; }
+    public void setRef(String ref) { this.ref = ref; }
+    
+    public boolean isOk() { return ok; }
+    public void setOk(boolean ok) { this.ok = ok; }
+    
+    public Object getResult() { return result; }
+    public void setResult(Object result) { this.result = result; }
+    
+    public Error getError() { return error; }
+    public void setError(Error error) { this.error = error; }
+}
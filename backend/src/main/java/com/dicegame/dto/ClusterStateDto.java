@@ -0,0 +1,37 @@
+package com.dicegame.dto;
+
+import java.util.List;
+
+public class ClusterStateDto {
+    private boolean enabled;
+    private String self;
+    private List<String> members;
+    private int localGames;
+    private long gamesHandedOff;
+    private long gamesReceived;
+    private long failedHandoffs;
+    
+    public ClusterStateDto() {}
+    
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public String getSelf() { return self; }
+    public void setSelf(String self) { this.self = self; }
+    
+    public List<String> getMembers() { return members; }
+    public void setMembers(List<String> members) { this.members = members; }
+    
+    public int getLocalGames() { return localGames; }
+    public void setLocalGames(int localGames) { this.localGames = localGames; }
+    
+    public long getGamesHandedOff() { return gamesHandedOff; }
+    public void setGamesHandedOff(long gamesHandedOff) { this.gamesHandedOff = gamesHandedOff; }
+    
+    public long getGamesReceived() { return gamesReceived; }
+    public void setGamesReceived(long gamesReceived) { this.gamesReceived = gamesReceived; }
+    
+    public long getFailedHandoffs() { return failedHandoffs; }
+    public void setFailedHandoffs(long failedHandoffs) { this.failedHandoffs = failedHandoffs; }
+}
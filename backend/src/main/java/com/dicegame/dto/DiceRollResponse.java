@@ -1,12 +1,14 @@
 package com.dicegame.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class DiceRollResponse {
     private String playerName;
     private int value;
     private LocalDateTime timestamp;
     private GameStateDto gameState;
+    private List<RollView> computerRolls; // rolls the server made for computer players in reply
     
     // Getters and Setters
     public String getPlayerName() { return playerName; }
@@ -20,4 +22,7 @@ public class DiceRollResponse {
     
     public GameStateDto getGameState() { return gameState; }
     public void setGameState(GameStateDto gameState) { this.gameState = gameState; }
+    
+    public List<RollView> getComputerRolls() { return computerRolls; }
+    public void setComputerRolls(List<RollView> computerRolls) { this.computerRolls = computerRolls; }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.dicegame.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameEventDto {
+    public enum Type {
+        ROLL, ROUND_COMPLETE, NEXT_ROUND, GAME_COMPLETE, GAME_ENDED, GAME_MOVED
+    }
+    
+    private String gameId;
+    private long seq;
+    private Type type;
+    private Integer round;
+    private String playerName;
+    private Integer value;
+    private String winner;
+    private int[] scores;
+    private int[] roundWins;
+    private String owner; // GAME_MOVED: base URL of the node now hosting the game
+    
+    public GameEventDto() {}
+    
+    public GameEventDto(String gameId, long seq, Type type) {
+        this.gameId = gameId;
+        this.seq = seq;
+        this.type = type;
+    }
+    
+    // Getters and Setters
+    public String getGameId() { return gameId; }
+    public void setGameId(String gameId) { this.gameId = gameId; }
+    
+    public long getSeq() { return seq; }
+    public void setSeq(long seq) { this.seq = seq; }
+    
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+    
+    public Integer getRound() { return round; }
+    public void setRound(Integer round) { this.round = round; }
+    
+    public String getPlayerName() { return playerName; }
+    public void setPlayerName(String playerName) { this.playerName = playerName; }
+    
+    public Integer getValue() { return value; }
+    public void setValue(Integer value) { this.value = value; }
+    
+    public String getWinner() { return winner; }
+    public void setWinner(String winner) { this.winner = winner; }
+    
+    // Indexed by player slot, in the order of GameStateDto.players
+    public int[] getScores() { return scores; }
+    public void setScores(int[] scores) { this.scores = scores; }
+    
+    public int[] getRoundWins() { return roundWins; }
+    public void setRoundWins(int[] roundWins) { this.roundWins = roundWins; }
+    
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+}
\ No newline at end of file
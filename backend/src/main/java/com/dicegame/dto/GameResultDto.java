@@ -1,22 +1,23 @@
 package com.dicegame.dto;
 
-import com.dicegame.model.Player;
 import java.time.LocalDateTime;
 
 public class GameResultDto {
     private String gameId;
-    private Player winner;
+    private PlayerView winner;
     private int totalRounds;
     private int[] finalScores;
     private LocalDateTime timestamp;
     private boolean isDraw;
+    private String rng;
+    private long seed;
     
     // Getters and Setters
     public String getGameId() { return gameId; }
     public void setGameId(String gameId) { this.gameId = gameId; }
     
-    public Player getWinner() { return winner; }
-    public void setWinner(Player winner) { this.winner = winner; }
+    public PlayerView getWinner() { return winner; }
+    public void setWinner(PlayerView winner) { this.winner = winner; }
     
     public int getTotalRounds() { return totalRounds; }
     public void setTotalRounds(int totalRounds) { this.totalRounds = totalRounds; }
@@ -29,4 +30,11 @@ public class GameResultDto {
     
     public boolean isDraw() { return isDraw; }
     public void setDraw(boolean draw) { isDraw = draw; }
+    
+    public String getRng() { return rng; }
+    public void setRng(String rng) { this.rng = rng; }
+    
+    // Revealed only once the game is over, since it determines every roll
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.dicegame.dto;
+
+/** Games started in one hour of the day, and how long they lasted on average. */
+public record HourlyLoadDto(
+    int hour,
+    long gamesStarted,
+    double averageDurationMillis
+) {
+}
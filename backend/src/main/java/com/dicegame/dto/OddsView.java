@@ -0,0 +1,22 @@
+package com.dicegame.dto;
+
+import com.dicegame.model.OutcomeTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Exact chance of each player winning the game, by slot, and of a draw. */
+public record OddsView(List<Double> win, double draw) {
+    
+    public OddsView {
+        win = List.copyOf(win);
+    }
+    
+    public static OddsView of(OutcomeTable.Odds[] odds) {
+        List<Double> win = new ArrayList<>(odds.length);
+        for (OutcomeTable.Odds playerOdds : odds) {
+            win.add(playerOdds.win());
+        }
+        return new OddsView(win, odds[0].draw());
+    }
+}
@@ -0,0 +1,11 @@
+package com.dicegame.dto;
+
+import com.dicegame.model.Player;
+
+/** In-game view of a player: only what the client renders, detached from the JPA entity. */
+public record PlayerView(String name, boolean isComputer, int score, int roundWins) {
+    
+    public static PlayerView of(Player player) {
+        return new PlayerView(player.getName(), player.isComputer(), player.getScore(), player.getRoundWins());
+    }
+}
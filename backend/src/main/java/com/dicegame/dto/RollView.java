@@ -0,0 +1,13 @@
+package com.dicegame.dto;
+
+import com.dicegame.model.GameEngine;
+
+import java.time.LocalDateTime;
+
+/** One throw; {@code value} is its score and {@code dice} the faces behind it. */
+public record RollView(String playerName, int value, LocalDateTime timestamp, int[] dice) {
+    
+    public static RollView of(GameEngine.DiceRoll roll) {
+        return new RollView(roll.getPlayerName(), roll.getValue(), roll.getTimestamp(), roll.getDice());
+    }
+}
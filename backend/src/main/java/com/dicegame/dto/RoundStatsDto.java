@@ -0,0 +1,11 @@
+package com.dicegame.dto;
+
+/** Rounds played per ended game, and game durations; abandoned games count with the rounds they reached. */
+public record RoundStatsDto(
+    long games,
+    long completedGames,
+    double averageRounds,
+    double averageCompletedRounds,
+    double averageDurationMillis
+) {
+}
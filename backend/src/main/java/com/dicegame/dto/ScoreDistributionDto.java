@@ -0,0 +1,13 @@
+package com.dicegame.dto;
+
+import java.util.Map;
+
+/** How often each throw score was thrown under one set of dice rules; for a single die, the face counts. */
+public record ScoreDistributionDto(
+    int dice,
+    int faces,
+    String scoring,
+    long rolls,
+    Map<Integer, Long> counts
+) {
+}
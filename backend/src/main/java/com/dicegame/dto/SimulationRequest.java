@@ -0,0 +1,40 @@
+package com.dicegame.dto;
+
+public class SimulationRequest {
+    private int rounds;
+    private long games;
+    private Long seed; // optional, a random seed is chosen and reported when absent
+    private Integer players; // optional, 2 when absent; every player after the first is a computer
+    private Integer dice; // optional dice per throw, 1 when absent
+    private Integer faces; // optional faces per die, 6 when absent
+    private String scoring; // optional: "sum" (default), "highest" or "pattern"
+    
+    public SimulationRequest() {}
+    
+    public SimulationRequest(int rounds, long games, Long seed) {
+        this.rounds = rounds;
+        this.games = games;
+        this.seed = seed;
+    }
+    
+    public int getRounds() { return rounds; }
+    public void setRounds(int rounds) { this.rounds = rounds; }
+    
+    public long getGames() { return games; }
+    public void setGames(long games) { this.games = games; }
+    
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
+    
+    public Integer getPlayers() { return players; }
+    public void setPlayers(Integer players) { this.players = players; }
+    
+    public Integer getDice() { return dice; }
+    public void setDice(Integer dice) { this.dice = dice; }
+    
+    public Integer getFaces() { return faces; }
+    public void setFaces(Integer faces) { this.faces = faces; }
+    
+    public String getScoring() { return scoring; }
+    public void setScoring(String scoring) { this.scoring = scoring; }
+}
@@ -0,0 +1,82 @@
+package com.dicegame.dto;
+
+public class SimulationResultDto {
+    private int rounds;
+    private int players;
+    private int dice;
+    private int faces;
+    private String scoring;
+    private long games;
+    private long seed;
+    private long[] wins;
+    private long draws;
+    private double[] winRates;
+    private double drawRate;
+    private double[] averageScores;
+    private long[] throwScoreDistribution;
+    private long[] player1RoundWinDistribution;
+    private long totalRolls;
+    private long elapsedMillis;
+    private double rollsPerSecond;
+    
+    // Getters and Setters
+    public int getRounds() { return rounds; }
+    public void setRounds(int rounds) { this.rounds = rounds; }
+    
+    public int getPlayers() { return players; }
+    public void setPlayers(int players) { this.players = players; }
+    
+    public int getDice() { return dice; }
+    public void setDice(int dice) { this.dice = dice; }
+    
+    public int getFaces() { return faces; }
+    public void setFaces(int faces) { this.faces = faces; }
+    
+    public String getScoring() { return scoring; }
+    public void setScoring(String scoring) { this.scoring = scoring; }
+    
+    public long getGames() { return games; }
+    public void setGames(long games) { this.games = games; }
+    
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+    
+    // Per seat: seat 0 is player 1, the others are computers
+    public long[] getWins() { return wins; }
+    public void setWins(long[] wins) { this.wins = wins; }
+    
+    public long getDraws() { return draws; }
+    public void setDraws(long draws) { this.draws = draws; }
+    
+    public double[] getWinRates() { return winRates; }
+    public void setWinRates(double[] winRates) { this.winRates = winRates; }
+    
+    public double getDrawRate() { return drawRate; }
+    public void setDrawRate(double drawRate) { this.drawRate = drawRate; }
+    
+    // Average final score per seat
+    public double[] getAverageScores() { return averageScores; }
+    public void setAverageScores(double[] averageScores) { this.averageScores = averageScores; }
+    
+    // Throws of all seats, indexed by the score of the throw
+    public long[] getThrowScoreDistribution() { return throwScoreDistribution; }
+    public void setThrowScoreDistribution(long[] throwScoreDistribution) { 
+        this.throwScoreDistribution = throwScoreDistribution; 
+    }
+    
+    // Games indexed by the number of rounds player 1 won
+    public long[] getPlayer1RoundWinDistribution() { return player1RoundWinDistribution; }
+    public void setPlayer1RoundWinDistribution(long[] player1RoundWinDistribution) { 
+        this.player1RoundWinDistribution = player1RoundWinDistribution; 
+    }
+    
+    // Dice thrown
+    public long getTotalRolls() { return totalRolls; }
+    public void setTotalRolls(long totalRolls) { this.totalRolls = totalRolls; }
+    
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    
+    public double getRollsPerSecond() { return rollsPerSecond; }
+    public void setRollsPerSecond(double rollsPerSecond) { this.rollsPerSecond = rollsPerSecond; }
+}
@@ -3,6 +3,12 @@ package com.dicegame.dto;
 public class StartGameRequest {
     private String mode; // "pvp" or "pvc"
     private int rounds;
+    private String rng; // optional: "thread_local", "splittable", "l64x128" or "counter"
+    private Long seed; // optional, derived from the game id when absent
+    private Integer players; // optional, 2 when absent; in "pvc" every player after the first is a computer
+    private Integer dice; // optional dice per throw, 1 when absent
+    private Integer faces; // optional faces per die, 6 when absent
+    private String scoring; // optional: "sum" (default), "highest" or "pattern"
     
     public StartGameRequest() {}
     
@@ -16,4 +22,22 @@ public class StartGameRequest {
     
     public int getRounds() { return rounds; }
     public void setRounds(int rounds) { this.rounds = rounds; }
+    
+    public String getRng() { return rng; }
+    public void setRng(String rng) { this.rng = rng; }
+    
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
+    
+    public Integer getPlayers() { return players; }
+    public void setPlayers(Integer players) { this.players = players; }
+    
+    public Integer getDice() { return dice; }
+    public void setDice(Integer dice) { this.dice = dice; }
+    
+    public Integer getFaces() { return faces; }
+    public void setFaces(Integer faces) { this.faces = faces; }
+    
+    public String getScoring() { return scoring; }
+    public void setScoring(String scoring) { this.scoring = scoring; }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.dicegame.dto;
+
+import java.util.List;
+
+public class StartTournamentRequest {
+    private String format; // "knockout" or "round_robin"
+    private List<String> entrants; // in seed order; optional when entrantCount is given
+    private int entrantCount; // generates "Entrant 1".."Entrant N" when entrants is absent
+    private int rounds; // rounds per match
+    private String rng; // optional, as for games
+    private Long seed; // optional, a random seed is chosen and reported when absent
+    
+    public StartTournamentRequest() {}
+    
+    // Getters and Setters
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+    
+    public List<String> getEntrants() { return entrants; }
+    public void setEntrants(List<String> entrants) { this.entrants = entrants; }
+    
+    public int getEntrantCount() { return entrantCount; }
+    public void setEntrantCount(int entrantCount) { this.entrantCount = entrantCount; }
+    
+    public int getRounds() { return rounds; }
+    public void setRounds(int rounds) { this.rounds = rounds; }
+    
+    public String getRng() { return rng; }
+    public void setRng(String rng) { this.rng = rng; }
+    
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
+}
@@ -0,0 +1,53 @@
+package com.dicegame.dto;
+
+public class StatsPipelineMetricsDto {
+    private int pendingPlayers;
+    private int maxPendingPlayers;
+    private long pendingOutcomes;
+    private long outcomesQueued;
+    private long outcomesFlushed;
+    private long flushes;
+    private long rowsUpdated;
+    private long rowsInserted;
+    private long failedFlushes;
+    private double lastFlushMillis;
+    private double averageFlushMillis;
+    private double maxFlushMillis;
+    
+    // Getters and Setters
+    public int getPendingPlayers() { return pendingPlayers; }
+    public void setPendingPlayers(int pendingPlayers) { this.pendingPlayers = pendingPlayers; }
+    
+    public int getMaxPendingPlayers() { return maxPendingPlayers; }
+    public void setMaxPendingPlayers(int maxPendingPlayers) { this.maxPendingPlayers = maxPendingPlayers; }
+    
+    public long getPendingOutcomes() { return pendingOutcomes; }
+    public void setPendingOutcomes(long pendingOutcomes) { this.pendingOutcomes = pendingOutcomes; }
+    
+    public long getOutcomesQueued() { return outcomesQueued; }
+    public void setOutcomesQueued(long outcomesQueued) { this.outcomesQueued = outcomesQueued; }
+    
+    public long getOutcomesFlushed() { return outcomesFlushed; }
+    public void setOutcomesFlushed(long outcomesFlushed) { this.outcomesFlushed = outcomesFlushed; }
+    
+    public long getFlushes() { return flushes; }
+    public void setFlushes(long flushes) { this.flushes = flushes; }
+    
+    public long getRowsUpdated() { return rowsUpdated; }
+    public void setRowsUpdated(long rowsUpdated) { this.rowsUpdated = rowsUpdated; }
+    
+    public long getRowsInserted() { return rowsInserted; }
+    public void setRowsInserted(long rowsInserted) { this.rowsInserted = rowsInserted; }
+    
+    public long getFailedFlushes() { return failedFlushes; }
+    public void setFailedFlushes(long failedFlushes) { this.failedFlushes = failedFlushes; }
+    
+    public double getLastFlushMillis() { return lastFlushMillis; }
+    public void setLastFlushMillis(double lastFlushMillis) { this.lastFlushMillis = lastFlushMillis; }
+    
+    public double getAverageFlushMillis() { return averageFlushMillis; }
+    public void setAverageFlushMillis(double averageFlushMillis) { this.averageFlushMillis = averageFlushMillis; }
+    
+    public double getMaxFlushMillis() { return maxFlushMillis; }
+    public void setMaxFlushMillis(double maxFlushMillis) { this.maxFlushMillis = maxFlushMillis; }
+}
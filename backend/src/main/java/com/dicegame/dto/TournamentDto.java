@@ -0,0 +1,20 @@
+package com.dicegame.dto;
+
+/** Tournament summary; {@code champion} is set once a knockout final is decided. */
+public record TournamentDto(
+    String tournamentId,
+    String format,
+    String status,
+    int entrants,
+    int rounds,
+    String rng,
+    long seed,
+    int stages,
+    int totalMatches,
+    int matchesCompleted,
+    String champion,
+    long elapsedMillis,
+    double matchesPerSecond,
+    String failure
+) {
+}
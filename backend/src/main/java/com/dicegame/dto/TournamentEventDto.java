@@ -0,0 +1,16 @@
+package com.dicegame.dto;
+
+/**
+ * Progress pushed on /topic/tournament/{tournamentId}. {@code type} is "progress"
+ * (throttled), "stage_complete" with the stage, or "finished".
+ */
+public record TournamentEventDto(
+    String type,
+    String tournamentId,
+    String status,
+    int matchesCompleted,
+    int totalMatches,
+    Integer stage,
+    String champion
+) {
+}
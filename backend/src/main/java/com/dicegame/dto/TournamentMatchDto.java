@@ -0,0 +1,17 @@
+package com.dicegame.dto;
+
+/**
+ * One match of a tournament. Players are null until decided; {@code status} is
+ * "pending", "bye" or "complete", and a complete match with no winner was drawn.
+ */
+public record TournamentMatchDto(
+    int match,
+    int stage,
+    String playerA,
+    String playerB,
+    String status,
+    String winner,
+    int roundWinsA,
+    int roundWinsB
+) {
+}
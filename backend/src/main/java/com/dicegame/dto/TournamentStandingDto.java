@@ -0,0 +1,18 @@
+package com.dicegame.dto;
+
+/**
+ * One entrant's line in the standings. {@code eliminatedInStage} is the knockout
+ * stage the entrant lost in, or null while still in (or for round robin).
+ */
+public record TournamentStandingDto(
+    int rank,
+    String name,
+    int played,
+    int wins,
+    int draws,
+    int losses,
+    int points,
+    int roundDifference,
+    Integer eliminatedInStage
+) {
+}
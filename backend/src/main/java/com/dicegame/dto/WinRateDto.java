@@ -0,0 +1,14 @@
+package com.dicegame.dto;
+
+/** Outcomes of ended games of one mode; computer wins only occur in "pvc". */
+public record WinRateDto(
+    String mode,
+    long games,
+    long humanWins,
+    long computerWins,
+    long draws,
+    double humanWinRate,
+    double computerWinRate,
+    double drawRate
+) {
+}
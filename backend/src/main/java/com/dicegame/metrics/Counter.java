@@ -0,0 +1,23 @@
+package com.dicegame.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Monotonic count. Increments are striped, so concurrent writers do not contend. */
+public final class Counter {
+    private final LongAdder count = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+}
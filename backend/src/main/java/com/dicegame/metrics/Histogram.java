@@ -0,0 +1,68 @@
+package com.dicegame.metrics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of durations over fixed buckets, exposed in seconds. Bucket bounds
+ * are converted to nanoseconds once, so {@link #record(long)} is a short scan and
+ * two striped increments with no allocation.
+ */
+public final class Histogram {
+    // Bounds as "le" label values, e.g. 0.0001 rather than 1.0E-4
+    private final String[] boundLabels;
+    private final long[] boundsNanos;
+    // One per bound plus the overflow bucket; not cumulative until exported
+    private final LongAdder[] buckets;
+    private final LongAdder sumNanos = new LongAdder();
+
+    Histogram(double[] boundsSeconds) {
+        this.boundsNanos = new long[boundsSeconds.length];
+        this.boundLabels = new String[boundsSeconds.length];
+        this.buckets = new LongAdder[boundsSeconds.length + 1];
+        for (int i = 0; i < boundsSeconds.length; i++) {
+            if (i > 0 && boundsSeconds[i] <= boundsSeconds[i - 1]) {
+                throw new IllegalArgumentException("Histogram bounds must increase");
+            }
+            boundsNanos[i] = (long) (boundsSeconds[i] * TimeUnit.SECONDS.toNanos(1));
+            boundLabels[i] = BigDecimal.valueOf(boundsSeconds[i]).stripTrailingZeros().toPlainString();
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        int bucket = 0;
+        while (bucket < boundsNanos.length && nanos > boundsNanos[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        sumNanos.add(nanos);
+    }
+
+    /** Records the time since {@code startNanos}, a {@link System#nanoTime()} reading. */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    String[] getBoundLabels() {
+        return boundLabels;
+    }
+
+    // Counts at or below each bound, then the total
+    long[] cumulativeCounts() {
+        long[] counts = new long[buckets.length];
+        long running = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            running += buckets[i].sum();
+            counts[i] = running;
+        }
+        return counts;
+    }
+
+    double getSumSeconds() {
+        return sumNanos.sum() / 1e9;
+    }
+}
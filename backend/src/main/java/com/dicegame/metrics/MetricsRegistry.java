@@ -0,0 +1,135 @@
+package com.dicegame.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Holds the application's meters and renders them in the Prometheus text format.
+ * Meters are registered up front, typically in a component's constructor, and the
+ * caller keeps the returned reference: labels are fixed at registration, so the
+ * recording path never looks anything up or builds label sets.
+ */
+@Component
+public class MetricsRegistry {
+
+    /** Buckets for request latencies, 100 µs to 10 s. */
+    public static final double[] REQUEST_BUCKETS = {
+        0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 10
+    };
+
+    private enum Type { COUNTER, GAUGE, HISTOGRAM }
+
+    private record Series(String labels, Object meter) {}
+
+    private static final class Family {
+        final String name;
+        final String help;
+        final Type type;
+        final List<Series> series = new ArrayList<>();
+
+        Family(String name, String help, Type type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    private final Map<String, Family> families = new LinkedHashMap<>();
+
+    /** Labels are given as name/value pairs. */
+    public Counter counter(String name, String help, String... labels) {
+        Counter counter = new Counter();
+        register(name, help, Type.COUNTER, labels, counter);
+        return counter;
+    }
+
+    public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+        register(name, help, Type.GAUGE, labels, value);
+    }
+
+    public Histogram histogram(String name, String help, double[] bucketsSeconds, String... labels) {
+        Histogram histogram = new Histogram(bucketsSeconds);
+        register(name, help, Type.HISTOGRAM, labels, histogram);
+        return histogram;
+    }
+
+    private synchronized void register(String name, String help, Type type, String[] labels, Object meter) {
+        Family family = families.computeIfAbsent(name, key -> new Family(name, help, type));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type);
+        }
+        String labelText = formatLabels(labels);
+        for (Series series : family.series) {
+            if (series.labels().equals(labelText)) {
+                throw new IllegalArgumentException("Metric " + name + "{" + labelText + "} is already registered");
+            }
+        }
+        family.series.add(new Series(labelText, meter));
+    }
+
+    /** Renders every meter in the Prometheus text exposition format (version 0.0.4). */
+    public synchronized String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+        for (Family family : families.values()) {
+            out.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+            out.append("# TYPE ").append(family.name).append(' ').append(family.type.name().toLowerCase()).append('\n');
+            for (Series series : family.series) {
+                switch (family.type) {
+                    case COUNTER -> sample(out, family.name, series.labels(), ((Counter) series.meter()).get());
+                    case GAUGE -> sample(out, family.name, series.labels(), ((DoubleSupplier) series.meter()).getAsDouble());
+                    case HISTOGRAM -> writeHistogram(out, family.name, series.labels(), (Histogram) series.meter());
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static void writeHistogram(StringBuilder out, String name, String labels, Histogram histogram) {
+        String[] bounds = histogram.getBoundLabels();
+        long[] counts = histogram.cumulativeCounts();
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        for (int i = 0; i < bounds.length; i++) {
+            sample(out, name + "_bucket", prefix + "le=\"" + bounds[i] + "\"", counts[i]);
+        }
+        long total = counts[counts.length - 1];
+        sample(out, name + "_bucket", prefix + "le=\"+Inf\"", total);
+        sample(out, name + "_sum", labels, histogram.getSumSeconds());
+        sample(out, name + "_count", labels, total);
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        appendName(out, name, labels).append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        appendName(out, name, labels).append(value).append('\n');
+    }
+
+    private static StringBuilder appendName(StringBuilder out, String name, String labels) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        return out.append(' ');
+    }
+
+    private static String formatLabels(String[] labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs");
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                text.append(',');
+            }
+            String value = labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+            text.append(labels[i]).append("=\"").append(value).append('"');
+        }
+        return text.toString();
+    }
+}
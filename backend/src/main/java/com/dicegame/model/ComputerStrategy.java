@@ -0,0 +1,42 @@
+package com.dicegame.model;
+
+/**
+ * Decides what a computer player does in its current round. The server asks after
+ * every human roll and every new round, on the game's own thread, so a decision
+ * must be cheap and must not block; anything costly belongs in tables built at
+ * startup, such as the shared {@link OutcomeTable} passed in. The table is null
+ * for dice rules whose score distribution is too costly to compute exactly.
+ */
+public interface ComputerStrategy {
+    enum Type {
+        ROLL_AFTER_HUMANS
+    }
+
+    enum Action {
+        /** Roll now. */
+        ROLL,
+        /** Not yet; the strategy is asked again after the next command. */
+        WAIT
+    }
+
+    Action decide(GameEngine game, int slot, OutcomeTable odds);
+
+    Type getType();
+
+    static ComputerStrategy create(Type type) {
+        switch (type) {
+            case ROLL_AFTER_HUMANS:
+                return RollAfterHumansStrategy.INSTANCE;
+            default:
+                throw new IllegalArgumentException("Unknown computer strategy: " + type);
+        }
+    }
+
+    static Type parseType(String name) {
+        try {
+            return Type.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown computer strategy: " + name);
+        }
+    }
+}
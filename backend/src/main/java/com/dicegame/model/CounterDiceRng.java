@@ -0,0 +1,52 @@
+package com.dicegame.model;
+
+/**
+ * Counter-based generator: the n-th output is a pure function of (seed, n), using
+ * the SplitMix64 finalizer. Its whole state is the seed and a draw counter, which
+ * makes it trivial to persist, resume or replay.
+ */
+public final class CounterDiceRng implements DiceRng {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    private long counter;
+
+    public CounterDiceRng(long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        // Lemire's multiply-shift reduction, rejecting the biased low range
+        long m = (nextLong() >>> 32) * bound;
+        long low = m & 0xffffffffL;
+        if (low < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while (low < threshold) {
+                m = (nextLong() >>> 32) * bound;
+                low = m & 0xffffffffL;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    private long nextLong() {
+        return mix(seed + (++counter) * GOLDEN_GAMMA);
+    }
+
+    @Override
+    public Type getType() {
+        return Type.COUNTER;
+    }
+
+    public long getSeed() { return seed; }
+
+    public long getCounter() { return counter; }
+    public void setCounter(long counter) { this.counter = counter; }
+
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,37 +1,70 @@
 package com.dicegame.model;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
 
 public class Dice {
-    private static final Random random = new Random();
     private static final int MIN_VALUE = 1;
-    private static final int MAX_VALUE = 6;
+    private static final int DEFAULT_FACES = 6;
+    // One roll in 256 is timed; reading the clock costs more than most generators do
+    private static final int TIMED_ROLL_MASK = 255;
     
+    private final DiceRng rng;
+    private final int faces;
     private int value;
+    private LongConsumer timer;
+    private int rolls;
     
     public Dice() {
+        this(ThreadLocalDiceRng.INSTANCE);
+    }
+    
+    public Dice(DiceRng rng) {
+        this(rng, DEFAULT_FACES);
+    }
+    
+    public Dice(DiceRng rng, int faces) {
+        this.rng = rng;
+        this.faces = faces;
         this.value = 0;
     }
     
     public int roll() {
-        this.value = random.nextInt(MAX_VALUE - MIN_VALUE + 1) + MIN_VALUE;
+        if (timer != null && (++rolls & TIMED_ROLL_MASK) == 0) {
+            long started = System.nanoTime();
+            this.value = rng.nextInt(faces) + MIN_VALUE;
+            timer.accept(System.nanoTime() - started);
+            return this.value;
+        }
+        this.value = rng.nextInt(faces) + MIN_VALUE;
         return this.value;
     }
     
+    /** Receives the duration in nanoseconds of a sample of generator calls; null stops timing. */
+    public void setTimer(LongConsumer timer) {
+        this.timer = timer;
+        // A random start gives every roll the same chance of being sampled, even in short games
+        this.rolls = ThreadLocalRandom.current().nextInt();
+    }
+    
+    public int getFaces() {
+        return faces;
+    }
+    
     public int getValue() {
         return value;
     }
     
     public void setValue(int value) {
-        if (value >= MIN_VALUE && value <= MAX_VALUE) {
+        if (value >= MIN_VALUE && value <= faces) {
             this.value = value;
         } else {
-            throw new IllegalArgumentException("Dice value must be between " + MIN_VALUE + " and " + MAX_VALUE);
+            throw new IllegalArgumentException("Dice value must be between " + MIN_VALUE + " and " + faces);
         }
     }
     
     public boolean isValid() {
-        return value >= MIN_VALUE && value <= MAX_VALUE;
+        return value >= MIN_VALUE && value <= faces;
     }
     
     @Override
@@ -0,0 +1,56 @@
+package com.dicegame.model;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Source of die faces. Implementations other than {@link Type#THREAD_LOCAL} are
+ * owned by a single game, so rolling never contends with other games, and a
+ * game can be replayed exactly from its type and seed.
+ */
+public interface DiceRng {
+    enum Type {
+        THREAD_LOCAL, SPLITTABLE, L64X128, COUNTER
+    }
+
+    /** Returns a uniformly distributed value in {@code [0, bound)}. */
+    int nextInt(int bound);
+
+    Type getType();
+
+    static DiceRng create(Type type, long seed) {
+        switch (type) {
+            case THREAD_LOCAL:
+                return ThreadLocalDiceRng.INSTANCE;
+            case SPLITTABLE:
+                return new GeneratorDiceRng(Type.SPLITTABLE, new SplittableRandom(seed));
+            case L64X128:
+                return new GeneratorDiceRng(Type.L64X128, RandomGeneratorFactory.of("L64X128MixRandom").create(seed));
+            case COUNTER:
+                return new CounterDiceRng(seed);
+            default:
+                throw new IllegalArgumentException("Unknown RNG type: " + type);
+        }
+    }
+
+    static Type parseType(String name) {
+        try {
+            return Type.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown RNG type: " + name);
+        }
+    }
+
+    /** Derives a 64-bit seed from a game id, using all 128 bits when it is a UUID. */
+    static long seedFromGameId(String gameId) {
+        long bits;
+        try {
+            UUID uuid = UUID.fromString(gameId);
+            bits = uuid.getMostSignificantBits() ^ Long.rotateLeft(uuid.getLeastSignificantBits(), 32);
+        } catch (IllegalArgumentException e) {
+            bits = gameId.hashCode();
+        }
+        return CounterDiceRng.mix(bits);
+    }
+}
@@ -0,0 +1,103 @@
+package com.dicegame.model;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+
+/** What each player throws per round, and how the throw is scored. */
+public record DiceRules(int diceCount, int faces, ScoringRule scoring) {
+
+    /** The classic game: one six-sided die, highest roll wins. */
+    public static final DiceRules DEFAULT = new DiceRules(1, 6, ScoringRule.SUM);
+    public static final int MAX_DICE = 20;
+    // Faces are journaled as one byte each
+    public static final int MAX_FACES = 100;
+    // Distinct throws enumerated for an exact pattern score distribution before giving up
+    private static final int MAX_ENUMERATED_THROWS = 1_000_000;
+
+    public DiceRules {
+        if (diceCount < 1 || diceCount > MAX_DICE) {
+            throw new IllegalArgumentException("Dice per throw must be between 1 and " + MAX_DICE);
+        }
+        if (faces < 2 || faces > MAX_FACES) {
+            throw new IllegalArgumentException("Faces must be between 2 and " + MAX_FACES);
+        }
+        if (scoring == null) {
+            throw new IllegalArgumentException("A scoring rule is required");
+        }
+    }
+
+    /** Scores the throw in {@code dice[from, from + diceCount)}; see {@link ScoringRule#score}. */
+    public int score(int[] dice, int from, int[] counts) {
+        return scoring.score(dice, from, diceCount, faces, counts);
+    }
+
+    /**
+     * Exact probability of each score of one throw, indexed by score, or null when
+     * there are too many distinct throws to enumerate for a pattern rule.
+     */
+    public double[] scoreDistribution() {
+        switch (scoring) {
+            case SUM: {
+                // Convolve one die at a time
+                double[] sums = {1.0};
+                for (int die = 0; die < diceCount; die++) {
+                    double[] next = new double[sums.length + faces];
+                    for (int total = 0; total < sums.length; total++) {
+                        for (int face = 1; face <= faces; face++) {
+                            next[total + face] += sums[total] / faces;
+                        }
+                    }
+                    sums = next;
+                }
+                return sums;
+            }
+            case HIGHEST: {
+                double[] highest = new double[faces + 1];
+                for (int face = 1; face <= faces; face++) {
+                    highest[face] = Math.pow((double) face / faces, diceCount) - Math.pow((face - 1.0) / faces, diceCount);
+                }
+                return highest;
+            }
+            default:
+                return enumeratedDistribution();
+        }
+    }
+
+    // Walks every multiset of faces once, weighted by the number of orders it can be thrown in
+    private double[] enumeratedDistribution() {
+        double throwsCount = 1;
+        for (int i = 1; i < faces; i++) {
+            throwsCount = throwsCount * (diceCount + i) / i;
+        }
+        if (throwsCount > MAX_ENUMERATED_THROWS) {
+            return null;
+        }
+        double[] factorial = new double[diceCount + 1];
+        factorial[0] = 1;
+        for (int i = 1; i <= diceCount; i++) {
+            factorial[i] = factorial[i - 1] * i;
+        }
+        TreeMap<Integer, Double> scores = new TreeMap<>();
+        enumerate(new int[diceCount], 0, 1, factorial[diceCount] / Math.pow(faces, diceCount), factorial,
+            new int[faces + 1], scores);
+        double[] distribution = new double[scores.lastKey() + 1];
+        scores.forEach((score, probability) -> distribution[score] += probability);
+        return distribution;
+    }
+
+    private void enumerate(int[] dice, int filled, int face, double weight, double[] factorial,
+                           int[] counts, TreeMap<Integer, Double> scores) {
+        if (filled == diceCount) {
+            scores.merge(score(dice, 0, counts), weight, Double::sum);
+            return;
+        }
+        if (face > faces) {
+            return;
+        }
+        // Use face n times, n = 0..remaining, then move on to the next face
+        for (int n = 0; n <= diceCount - filled; n++) {
+            Arrays.fill(dice, filled, filled + n, face);
+            enumerate(dice, filled + n, face + 1, weight / factorial[n], factorial, counts, scores);
+        }
+    }
+}
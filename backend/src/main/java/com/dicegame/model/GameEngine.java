@@ -1,8 +1,17 @@
 package com.dicegame.model;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
 
 public class GameEngine {
     public enum GameMode {
@@ -13,98 +22,253 @@ public class GameEngine {
         WAITING, IN_PROGRESS, ROUND_COMPLETE, GAME_COMPLETE
     }
     
+    public static final int DEFAULT_MAX_PLAYERS = 2;
+    private static final int NO_WINNER = -1;
+    private static final int SNAPSHOT_VERSION = 3;
+    
     private String gameId;
     private GameMode mode;
     private GameStatus status;
     private int maxRounds;
     private int currentRound;
+    private int maxPlayers;
     private List<Player> players;
-    private List<DiceRoll> currentRoundRolls;
-    private List<GameRound> gameHistory;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
+    private long seed;
+    private DiceRng rng;
+    private Dice dice;
+    private DiceRules rules;
+    private long draws; // dice rolled over the game's life, to restore the generator position
+    
+    // Players are addressed by slot (their index in players) once they have joined
+    private Map<String, Integer> slotsByName;
+    
+    // Current round, indexed by slot; rollOrder lists slots in the order they rolled.
+    // roundValues holds each throw's score and roundDice its faces, diceCount per slot
+    private int[] roundValues;
+    private int[] roundDice;
+    private int[] faceCounts; // scratch for scoring
+    private long[] roundTimes;
+    private long[] rolledSlots;
+    private int[] rollOrder;
+    private int rolledCount;
+    
+    // Completed rounds, packed: one score per (round, slot), one winner slot per round
+    // (NO_WINNER on a tie), roll timestamps as millisecond deltas from the previous roll,
+    // and the slots in the order they rolled, which is what a replay from the seed needs
+    private int historyRounds;
+    private int[] historyValues;
+    private short[] historyRollOrder;
+    private short[] historyWinners;
+    private int[] historyTimeDeltas;
+    private long historyBaseMillis;
+    private long historyLastMillis;
     
     public GameEngine() {
         this.players = new ArrayList<>();
-        this.currentRoundRolls = new ArrayList<>();
-        this.gameHistory = new ArrayList<>();
+        this.slotsByName = new HashMap<>();
         this.status = GameStatus.WAITING;
         this.currentRound = 1;
+        this.rng = ThreadLocalDiceRng.INSTANCE;
+        this.rules = DiceRules.DEFAULT;
+        this.dice = new Dice(rng, rules.faces());
+        initRoundState(DEFAULT_MAX_PLAYERS);
     }
     
     public GameEngine(String gameId, GameMode mode, int maxRounds) {
+        this(gameId, mode, maxRounds, DiceRng.Type.COUNTER, DiceRng.seedFromGameId(gameId));
+    }
+    
+    public GameEngine(String gameId, GameMode mode, int maxRounds, DiceRng.Type rngType, long seed) {
+        this(gameId, mode, maxRounds, rngType, seed, DEFAULT_MAX_PLAYERS);
+    }
+    
+    public GameEngine(String gameId, GameMode mode, int maxRounds, DiceRng.Type rngType, long seed, int maxPlayers) {
+        this(gameId, mode, maxRounds, rngType, seed, maxPlayers, DiceRules.DEFAULT);
+    }
+    
+    public GameEngine(String gameId, GameMode mode, int maxRounds, DiceRng.Type rngType, long seed, int maxPlayers,
+                      DiceRules rules) {
         this();
+        if (maxPlayers < 2) {
+            throw new IllegalArgumentException("A game needs at least 2 players");
+        }
         this.gameId = gameId;
         this.mode = mode;
         this.maxRounds = maxRounds;
         this.startTime = LocalDateTime.now();
+        this.seed = seed;
+        this.rng = DiceRng.create(rngType, seed);
+        this.rules = rules;
+        this.dice = new Dice(rng, rules.faces());
+        initRoundState(maxPlayers);
     }
     
-    public void addPlayer(Player player) {
-        if (players.size() < 2) {
-            players.add(player);
-            if (players.size() == 2) {
-                status = GameStatus.IN_PROGRESS;
-            }
-        } else {
+    private void initRoundState(int maxPlayers) {
+        this.maxPlayers = maxPlayers;
+        this.roundValues = new int[maxPlayers];
+        this.roundDice = new int[maxPlayers * rules.diceCount()];
+        this.faceCounts = new int[rules.faces() + 1];
+        this.roundTimes = new long[maxPlayers];
+        this.rolledSlots = new long[(maxPlayers + 63) >>> 6];
+        this.rollOrder = new int[maxPlayers];
+        this.rolledCount = 0;
+        this.historyRounds = 0;
+        this.historyValues = new int[0];
+        this.historyRollOrder = new short[0];
+        this.historyWinners = new short[0];
+        this.historyTimeDeltas = new int[0];
+    }
+    
+    public int addPlayer(Player player) {
+        if (players.size() >= maxPlayers) {
             throw new IllegalStateException("Game already has maximum number of players");
         }
+        if (slotsByName.containsKey(player.getName())) {
+            throw new IllegalArgumentException("Player already joined: " + player.getName());
+        }
+        
+        int slot = players.size();
+        players.add(player);
+        slotsByName.put(player.getName(), slot);
+        if (players.size() == maxPlayers) {
+            status = GameStatus.IN_PROGRESS;
+        }
+        return slot;
     }
     
-    public DiceRoll rollDice(String playerName) {
-        Player player = findPlayerByName(playerName);
-        if (player == null) {
+    public int resolveSlot(String playerName) {
+        Integer slot = slotsByName.get(playerName);
+        if (slot == null) {
             throw new IllegalArgumentException("Player not found: " + playerName);
         }
+        return slot;
+    }
+    
+    public DiceRoll rollDice(String playerName) {
+        int slot = resolveSlot(playerName);
+        roll(slot);
+        return rollFor(slot);
+    }
+    
+    /**
+     * Throws the dice for the player in the given slot and returns the score. This is
+     * the allocation-free path; {@link #rollDice(String)} wraps it for name-based callers.
+     */
+    public int roll(int slot) {
+        checkCanRoll(slot);
+        int count = rules.diceCount();
+        int from = slot * count;
+        for (int i = from; i < from + count; i++) {
+            roundDice[i] = dice.roll();
+        }
+        draws += count;
+        int value = rules.score(roundDice, from, faceCounts);
+        recordRoll(slot, value, System.currentTimeMillis());
+        return value;
+    }
+    
+    /**
+     * Re-applies a throw whose faces are already known, e.g. from the event log. The
+     * generator still advances so later rolls continue the original sequence.
+     */
+    public void replayRoll(int slot, int[] faces, long epochMillis) {
+        checkCanRoll(slot);
+        int count = rules.diceCount();
+        if (faces.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " dice, got " + faces.length);
+        }
+        int from = slot * count;
+        for (int i = 0; i < count; i++) {
+            dice.roll();
+            roundDice[from + i] = faces[i];
+        }
+        draws += count;
+        recordRoll(slot, rules.score(roundDice, from, faceCounts), epochMillis);
+    }
+    
+    /** Re-applies a single-die roll, as recorded before games could throw several dice. */
+    public void replayRoll(int slot, int value, long epochMillis) {
+        replayRoll(slot, new int[] {value}, epochMillis);
+    }
+    
+    private void checkCanRoll(int slot) {
+        if (slot < 0 || slot >= players.size()) {
+            throw new IllegalArgumentException("Player not found in slot: " + slot);
+        }
         
         if (status != GameStatus.IN_PROGRESS) {
             throw new IllegalStateException("Game is not in progress");
         }
         
         // Check if player already rolled this round
-        boolean alreadyRolled = currentRoundRolls.stream()
-                .anyMatch(roll -> roll.getPlayerName().equals(playerName));
-        
-        if (alreadyRolled) {
+        if (hasRolled(slot)) {
             throw new IllegalStateException("Player has already rolled this round");
         }
-        
-        Dice dice = new Dice();
-        int value = dice.roll();
-        
-        DiceRoll roll = new DiceRoll(playerName, value, LocalDateTime.now());
-        currentRoundRolls.add(roll);
-        player.addScore(value);
+    }
+    
+    private void recordRoll(int slot, int value, long epochMillis) {
+        rolledSlots[slot >>> 6] |= 1L << slot;
+        roundValues[slot] = value;
+        roundTimes[slot] = epochMillis;
+        rollOrder[rolledCount++] = slot;
+        players.get(slot).addScore(value);
         
         // Check if round is complete
-        if (currentRoundRolls.size() == 2) {
+        if (rolledCount == players.size()) {
             completeRound();
         }
-        
-        return roll;
+    }
+    
+    /** Score of the given slot's throw in the current round; only meaningful once {@link #hasRolled} is true. */
+    public int getRollValue(int slot) {
+        return roundValues[slot];
+    }
+    
+    /** Face of one die of the given slot's throw in the current round. */
+    public int getRollDie(int slot, int die) {
+        return roundDice[slot * rules.diceCount() + die];
+    }
+    
+    /** Time of the given slot's roll in the current round, as epoch milliseconds. */
+    public long getRollTimeMillis(int slot) {
+        return roundTimes[slot];
+    }
+    
+    public boolean hasRolled(int slot) {
+        return (rolledSlots[slot >>> 6] & (1L << slot)) != 0;
     }
     
     private void completeRound() {
         status = GameStatus.ROUND_COMPLETE;
         
-        // Determine round winner
-        DiceRoll roll1 = currentRoundRolls.get(0);
-        DiceRoll roll2 = currentRoundRolls.get(1);
-        
-        Player winner = null;
-        if (roll1.getValue() > roll2.getValue()) {
-            winner = findPlayerByName(roll1.getPlayerName());
-        } else if (roll2.getValue() > roll1.getValue()) {
-            winner = findPlayerByName(roll2.getPlayerName());
+        // Determine round winner: the single highest score, no winner on a tie for the top.
+        // Branch-free passes over the score array, which the JIT vectorizes for large lobbies
+        int playerCount = players.size();
+        int best = Integer.MIN_VALUE;
+        for (int slot = 0; slot < playerCount; slot++) {
+            best = Math.max(best, roundValues[slot]);
+        }
+        int top = 0;
+        for (int slot = 0; slot < playerCount; slot++) {
+            top += roundValues[slot] == best ? 1 : 0;
+        }
+        int winnerSlot = NO_WINNER;
+        if (top == 1) {
+            winnerSlot = 0;
+            while (roundValues[winnerSlot] != best) {
+                winnerSlot++;
+            }
         }
         
+        Player winner = winnerSlot == NO_WINNER ? null : players.get(winnerSlot);
         if (winner != null) {
             winner.incrementRoundWins();
         }
         
         // Save round to history
-        GameRound round = new GameRound(currentRound, new ArrayList<>(currentRoundRolls), winner);
-        gameHistory.add(round);
+        appendHistory(winnerSlot);
         
         // Check if game is complete
         if (currentRound >= maxRounds) {
@@ -112,13 +276,93 @@ public class GameEngine {
         }
     }
     
+    private void appendHistory(int winnerSlot) {
+        int playerCount = players.size();
+        if (historyRounds == historyWinners.length) {
+            // Double as needed, but never past maxRounds
+            int capacity = Math.max(historyRounds + 1, Math.min(Math.max(historyRounds * 2, 8), maxRounds));
+            historyValues = Arrays.copyOf(historyValues, capacity * maxPlayers);
+            historyRollOrder = Arrays.copyOf(historyRollOrder, capacity * maxPlayers);
+            historyWinners = Arrays.copyOf(historyWinners, capacity);
+            historyTimeDeltas = Arrays.copyOf(historyTimeDeltas, capacity * maxPlayers);
+        }
+        if (historyRounds == 0) {
+            historyBaseMillis = roundTimes[0];
+            historyLastMillis = historyBaseMillis;
+        }
+        
+        int offset = historyRounds * maxPlayers;
+        for (int slot = 0; slot < playerCount; slot++) {
+            historyValues[offset + slot] = roundValues[slot];
+            historyTimeDeltas[offset + slot] = (int) (roundTimes[slot] - historyLastMillis);
+            historyLastMillis = roundTimes[slot];
+            historyRollOrder[offset + slot] = (short) rollOrder[slot];
+        }
+        historyWinners[historyRounds] = (short) winnerSlot;
+        historyRounds++;
+    }
+    
+    public int getCompletedRounds() {
+        return historyRounds;
+    }
+    
+    /** Slot that made the {@code index}-th roll of a completed round, counting rounds from 0. */
+    public int getHistoryRollSlot(int round, int index) {
+        return historyRollOrder[round * maxPlayers + index];
+    }
+    
+    /** Score the given slot threw in a completed round, counting rounds from 0. */
+    public int getHistoryValue(int round, int slot) {
+        return historyValues[round * maxPlayers + slot];
+    }
+    
+    /** Winning slot of a completed round, counting rounds from 0, or -1 on a tie. */
+    public int getHistoryWinnerSlot(int round) {
+        return historyWinners[round];
+    }
+    
+    /** Rolls made so far in the current round. */
+    public int getRolledCount() {
+        return rolledCount;
+    }
+    
+    /** Slot that made the {@code index}-th roll of the current round. */
+    public int getRollSlot(int index) {
+        return rollOrder[index];
+    }
+    
+    /** Winner of the most recently completed round, or null on a tie or before any round. */
+    public Player getLastRoundWinner() {
+        if (historyRounds == 0) return null;
+        int winnerSlot = historyWinners[historyRounds - 1];
+        return winnerSlot == NO_WINNER ? null : players.get(winnerSlot);
+    }
+    
+    /** Completed rounds, decoded from the packed history on each call. Rolls are listed by slot. */
+    public List<GameRound> getGameHistory() {
+        List<GameRound> history = new ArrayList<>(historyRounds);
+        int playerCount = players.size();
+        long millis = historyBaseMillis;
+        for (int round = 0; round < historyRounds; round++) {
+            int offset = round * maxPlayers;
+            List<DiceRoll> rolls = new ArrayList<>(playerCount);
+            for (int slot = 0; slot < playerCount; slot++) {
+                millis += historyTimeDeltas[offset + slot];
+                rolls.add(new DiceRoll(players.get(slot).getName(), historyValues[offset + slot], toLocalDateTime(millis)));
+            }
+            int winnerSlot = historyWinners[round];
+            history.add(new GameRound(round + 1, rolls, winnerSlot == NO_WINNER ? null : players.get(winnerSlot)));
+        }
+        return history;
+    }
+    
     public void nextRound() {
         if (status != GameStatus.ROUND_COMPLETE) {
             throw new IllegalStateException("Current round is not complete");
         }
         
         currentRound++;
-        currentRoundRolls.clear();
+        clearRound();
         
         if (currentRound <= maxRounds) {
             status = GameStatus.IN_PROGRESS;
@@ -127,6 +371,11 @@ public class GameEngine {
         }
     }
     
+    private void clearRound() {
+        Arrays.fill(rolledSlots, 0L);
+        rolledCount = 0;
+    }
+    
     private void completeGame() {
         status = GameStatus.GAME_COMPLETE;
         endTime = LocalDateTime.now();
@@ -142,18 +391,20 @@ public class GameEngine {
     }
     
     public Player getGameWinner() {
-        if (players.size() != 2) return null;
+        if (players.size() < 2) return null;
         
-        Player player1 = players.get(0);
-        Player player2 = players.get(1);
-        
-        if (player1.getRoundWins() > player2.getRoundWins()) {
-            return player1;
-        } else if (player2.getRoundWins() > player1.getRoundWins()) {
-            return player2;
+        Player winner = null;
+        int best = -1;
+        for (Player player : players) {
+            if (player.getRoundWins() > best) {
+                best = player.getRoundWins();
+                winner = player;
+            } else if (player.getRoundWins() == best) {
+                winner = null;
+            }
         }
         
-        return null; // Draw
+        return winner; // null on a draw
     }
     
     public boolean isGameComplete() {
@@ -164,17 +415,25 @@ public class GameEngine {
         return status == GameStatus.ROUND_COMPLETE;
     }
     
-    private Player findPlayerByName(String name) {
-        return players.stream()
-                .filter(p -> p.getName().equals(name))
-                .findFirst()
-                .orElse(null);
+    /**
+     * Rough heap footprint of this game, for memory accounting. Based on typical
+     * 64-bit compressed-oops object sizes rather than measured.
+     */
+    public long estimateRetainedBytes() {
+        long bytes = 200; // engine, status, rng, dice and the slot map
+        bytes += (48L + 4L * rules.diceCount()) * maxPlayers + 16L * ((maxPlayers + 63) >>> 6); // round-state arrays
+        for (Player player : players) {
+            bytes += 220 + 2L * player.getName().length(); // entity, its timestamps, name and map entry
+        }
+        // Packed history, including unused capacity: score, time delta and roll order per slot, winner per round
+        bytes += historyWinners.length * (2L + 10L * maxPlayers);
+        return bytes;
     }
     
     public void resetGame() {
         currentRound = 1;
-        currentRoundRolls.clear();
-        gameHistory.clear();
+        clearRound();
+        historyRounds = 0;
         status = GameStatus.IN_PROGRESS;
         startTime = LocalDateTime.now();
         endTime = null;
@@ -184,6 +443,169 @@ public class GameEngine {
         }
     }
     
+    /** Rolls made so far this round, in the order they were made. */
+    public List<DiceRoll> getCurrentRoundRolls() {
+        List<DiceRoll> rolls = new ArrayList<>(rolledCount);
+        for (int i = 0; i < rolledCount; i++) {
+            rolls.add(rollFor(rollOrder[i]));
+        }
+        return rolls;
+    }
+    
+    private DiceRoll rollFor(int slot) {
+        int from = slot * rules.diceCount();
+        return new DiceRoll(players.get(slot).getName(), roundValues[slot], toLocalDateTime(roundTimes[slot]),
+            Arrays.copyOfRange(roundDice, from, from + rules.diceCount()));
+    }
+    
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+    
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    /**
+     * Writes the complete game state in a compact binary form, for snapshots and
+     * handoff; {@link #readSnapshot(DataInput)} restores an equivalent engine.
+     */
+    public void writeSnapshot(DataOutput out) throws IOException {
+        out.writeByte(SNAPSHOT_VERSION);
+        out.writeUTF(gameId);
+        out.writeByte(mode.ordinal());
+        out.writeByte(status.ordinal());
+        out.writeInt(maxRounds);
+        out.writeInt(currentRound);
+        out.writeInt(maxPlayers);
+        out.writeByte(rules.diceCount());
+        out.writeByte(rules.faces());
+        out.writeByte(rules.scoring().ordinal());
+        out.writeByte(rng.getType().ordinal());
+        out.writeLong(seed);
+        out.writeLong(draws);
+        // Rejection sampling can draw more than once per roll, so counter generators store their own position
+        out.writeLong(rng instanceof CounterDiceRng counterRng ? counterRng.getCounter() : -1);
+        out.writeLong(startTime != null ? toEpochMillis(startTime) : -1);
+        out.writeLong(endTime != null ? toEpochMillis(endTime) : -1);
+        
+        out.writeInt(players.size());
+        for (Player player : players) {
+            out.writeUTF(player.getName());
+            out.writeBoolean(player.isComputer());
+            out.writeInt(player.getScore());
+            out.writeInt(player.getRoundWins());
+            out.writeInt(player.getTotalGames());
+            out.writeInt(player.getTotalWins());
+        }
+        
+        out.writeInt(rolledCount);
+        for (int i = 0; i < rolledCount; i++) {
+            int slot = rollOrder[i];
+            out.writeInt(slot);
+            for (int die = 0; die < rules.diceCount(); die++) {
+                out.writeByte(getRollDie(slot, die));
+            }
+            out.writeLong(roundTimes[slot]);
+        }
+        
+        out.writeInt(historyRounds);
+        out.writeLong(historyBaseMillis);
+        out.writeLong(historyLastMillis);
+        for (int round = 0; round < historyRounds; round++) {
+            int offset = round * maxPlayers;
+            out.writeShort(historyWinners[round]);
+            for (int slot = 0; slot < players.size(); slot++) {
+                out.writeInt(historyValues[offset + slot]);
+                out.writeInt(historyTimeDeltas[offset + slot]);
+                out.writeShort(historyRollOrder[offset + slot]);
+            }
+        }
+    }
+    
+    public static GameEngine readSnapshot(DataInput in) throws IOException {
+        // Version 1 predates multi-dice rules: one six-sided die, scores stored as bytes.
+        // Versions before 3 do not keep the roll order of past rounds; slot order stands in for it
+        int version = in.readUnsignedByte();
+        if (version < 1 || version > SNAPSHOT_VERSION) {
+            throw new IOException("Unsupported game snapshot version: " + version);
+        }
+        String gameId = in.readUTF();
+        GameMode mode = GameMode.values()[in.readUnsignedByte()];
+        GameStatus status = GameStatus.values()[in.readUnsignedByte()];
+        int maxRounds = in.readInt();
+        int currentRound = in.readInt();
+        int maxPlayers = in.readInt();
+        DiceRules rules = version == 1 ? DiceRules.DEFAULT
+            : new DiceRules(in.readUnsignedByte(), in.readUnsignedByte(), ScoringRule.values()[in.readUnsignedByte()]);
+        DiceRng.Type rngType = DiceRng.Type.values()[in.readUnsignedByte()];
+        long seed = in.readLong();
+        
+        GameEngine game = new GameEngine(gameId, mode, maxRounds, rngType, seed, maxPlayers, rules);
+        game.restoreRng(in.readLong(), in.readLong());
+        long startMillis = in.readLong();
+        game.startTime = startMillis >= 0 ? toLocalDateTime(startMillis) : null;
+        long endMillis = in.readLong();
+        game.endTime = endMillis >= 0 ? toLocalDateTime(endMillis) : null;
+        
+        int playerCount = in.readInt();
+        for (int slot = 0; slot < playerCount; slot++) {
+            Player player = new Player(in.readUTF(), in.readBoolean());
+            player.setScore(in.readInt());
+            player.setRoundWins(in.readInt());
+            player.setTotalGames(in.readInt());
+            player.setTotalWins(in.readInt());
+            game.addPlayer(player);
+        }
+        game.status = status;
+        game.currentRound = currentRound;
+        
+        int rolled = in.readInt();
+        for (int i = 0; i < rolled; i++) {
+            int slot = in.readInt();
+            game.rolledSlots[slot >>> 6] |= 1L << slot;
+            int from = slot * rules.diceCount();
+            for (int die = 0; die < rules.diceCount(); die++) {
+                game.roundDice[from + die] = in.readUnsignedByte();
+            }
+            game.roundValues[slot] = rules.score(game.roundDice, from, game.faceCounts);
+            game.roundTimes[slot] = in.readLong();
+            game.rollOrder[i] = slot;
+        }
+        game.rolledCount = rolled;
+        
+        int rounds = in.readInt();
+        game.historyBaseMillis = in.readLong();
+        game.historyLastMillis = in.readLong();
+        game.historyValues = new int[rounds * maxPlayers];
+        game.historyRollOrder = new short[rounds * maxPlayers];
+        game.historyWinners = new short[rounds];
+        game.historyTimeDeltas = new int[rounds * maxPlayers];
+        for (int round = 0; round < rounds; round++) {
+            int offset = round * maxPlayers;
+            game.historyWinners[round] = in.readShort();
+            for (int slot = 0; slot < playerCount; slot++) {
+                game.historyValues[offset + slot] = version == 1 ? in.readByte() : in.readInt();
+                game.historyTimeDeltas[offset + slot] = in.readInt();
+                game.historyRollOrder[offset + slot] = version >= 3 ? in.readShort() : (short) slot;
+            }
+        }
+        game.historyRounds = rounds;
+        return game;
+    }
+    
+    private void restoreRng(long draws, long counter) {
+        this.draws = draws;
+        if (counter >= 0 && rng instanceof CounterDiceRng counterRng) {
+            counterRng.setCounter(counter);
+        } else if (rng.getType() != DiceRng.Type.THREAD_LOCAL) {
+            // Other generators cannot be positioned directly, so replay their draws
+            for (long i = 0; i < draws; i++) {
+                dice.roll();
+            }
+        }
+    }
+    
     // Getters and Setters
     public String getGameId() { return gameId; }
     public void setGameId(String gameId) { this.gameId = gameId; }
@@ -200,14 +622,12 @@ public class GameEngine {
     public int getCurrentRound() { return currentRound; }
     public void setCurrentRound(int currentRound) { this.currentRound = currentRound; }
     
-    public List<Player> getPlayers() { return players; }
-    public void setPlayers(List<Player> players) { this.players = players; }
+    public int getMaxPlayers() { return maxPlayers; }
+    
+    public DiceRules getRules() { return rules; }
     
-    public List<DiceRoll> getCurrentRoundRolls() { return currentRoundRolls; }
-    public void setCurrentRoundRolls(List<DiceRoll> currentRoundRolls) { this.currentRoundRolls = currentRoundRolls; }
+    public List<Player> getPlayers() { return players; }
     
-    public List<GameRound> getGameHistory() { return gameHistory; }
-    public void setGameHistory(List<GameRound> gameHistory) { this.gameHistory = gameHistory; }
     
     public LocalDateTime getStartTime() { return startTime; }
     public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
@@ -215,22 +635,37 @@ public class GameEngine {
     public LocalDateTime getEndTime() { return endTime; }
     public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
     
+    public long getSeed() { return seed; }
+    
+    public DiceRng getRng() { return rng; }
+    public DiceRng.Type getRngType() { return rng.getType(); }
+    
+    /** See {@link Dice#setTimer(LongConsumer)}. */
+    public void setRngTimer(LongConsumer timer) { dice.setTimer(timer); }
+    
     // Helper classes
     public static class DiceRoll {
         private String playerName;
         private int value;
         private LocalDateTime timestamp;
+        private int[] dice; // faces thrown, or null where only the score is kept
         
         public DiceRoll(String playerName, int value, LocalDateTime timestamp) {
+            this(playerName, value, timestamp, null);
+        }
+        
+        public DiceRoll(String playerName, int value, LocalDateTime timestamp, int[] dice) {
             this.playerName = playerName;
             this.value = value;
             this.timestamp = timestamp;
+            this.dice = dice;
         }
         
         // Getters
         public String getPlayerName() { return playerName; }
         public int getValue() { return value; }
         public LocalDateTime getTimestamp() { return timestamp; }
+        public int[] getDice() { return dice; }
     }
     
     public static class GameRound {
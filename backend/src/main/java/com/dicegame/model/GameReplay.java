@@ -0,0 +1,150 @@
+package com.dicegame.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Audit record of a game: its rules, generator seed and the order in which the
+ * players rolled, followed by the outcome the server reported. Dice values are
+ * not stored; {@link #verify(DataInput)} regenerates them by re-running the game
+ * from its seed and checks that it arrives at the reported outcome. A two-player
+ * game of ten rounds takes about a hundred bytes.
+ */
+public final class GameReplay {
+
+    /** How a replay compared with the reported outcome. */
+    public enum Result {
+        MATCH,
+        MISMATCH,
+        /** The game used a generator that cannot be re-seeded, such as thread_local. */
+        UNVERIFIABLE
+    }
+
+    public record Verdict(String gameId, Result result, String detail) {}
+
+    private static final int VERSION = 1;
+
+    private GameReplay() {}
+
+    public static void write(GameEngine game, DataOutput out) throws IOException {
+        List<Player> players = game.getPlayers();
+        DiceRules rules = game.getRules();
+        out.writeByte(VERSION);
+        out.writeUTF(game.getGameId());
+        out.writeByte(game.getMode().ordinal());
+        out.writeInt(game.getMaxRounds());
+        out.writeInt(game.getMaxPlayers());
+        out.writeByte(rules.diceCount());
+        out.writeByte(rules.faces());
+        out.writeByte(rules.scoring().ordinal());
+        out.writeByte(game.getRngType().ordinal());
+        out.writeLong(game.getSeed());
+        out.writeInt(players.size());
+        for (Player player : players) {
+            out.writeUTF(player.getName());
+            out.writeBoolean(player.isComputer());
+        }
+
+        // Commands: every roll in order, and the round the game had reached
+        out.writeInt(game.getCompletedRounds());
+        for (int round = 0; round < game.getCompletedRounds(); round++) {
+            for (int i = 0; i < players.size(); i++) {
+                out.writeShort(game.getHistoryRollSlot(round, i));
+            }
+        }
+        out.writeInt(game.getCurrentRound());
+        // A completed round's rolls stay listed as current until the next round, but are already in the history
+        int pending = game.getStatus() == GameEngine.GameStatus.IN_PROGRESS ? game.getRolledCount() : 0;
+        out.writeInt(pending);
+        for (int i = 0; i < pending; i++) {
+            out.writeShort(game.getRollSlot(i));
+        }
+
+        // Reported outcome
+        out.writeByte(game.getStatus().ordinal());
+        for (Player player : players) {
+            out.writeInt(player.getScore());
+            out.writeInt(player.getRoundWins());
+        }
+    }
+
+    /** Reads one record and replays it. Only the engine is touched, so records verify independently. */
+    public static Verdict verify(DataInput in) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported game audit record version: " + version);
+        }
+        String gameId = in.readUTF();
+        GameEngine.GameMode mode = GameEngine.GameMode.values()[in.readUnsignedByte()];
+        int maxRounds = in.readInt();
+        int maxPlayers = in.readInt();
+        DiceRules rules = new DiceRules(in.readUnsignedByte(), in.readUnsignedByte(),
+            ScoringRule.values()[in.readUnsignedByte()]);
+        DiceRng.Type rngType = DiceRng.Type.values()[in.readUnsignedByte()];
+        long seed = in.readLong();
+        int playerCount = in.readInt();
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(new Player(in.readUTF(), in.readBoolean()));
+        }
+        int completedRounds = in.readInt();
+        short[] rollOrder = new short[completedRounds * playerCount];
+        for (int i = 0; i < rollOrder.length; i++) {
+            rollOrder[i] = in.readShort();
+        }
+        int currentRound = in.readInt();
+        short[] currentRolls = new short[in.readInt()];
+        for (int i = 0; i < currentRolls.length; i++) {
+            currentRolls[i] = in.readShort();
+        }
+        GameEngine.GameStatus status = GameEngine.GameStatus.values()[in.readUnsignedByte()];
+        int[] scores = new int[playerCount];
+        int[] roundWins = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            scores[i] = in.readInt();
+            roundWins[i] = in.readInt();
+        }
+
+        if (rngType == DiceRng.Type.THREAD_LOCAL) {
+            return new Verdict(gameId, Result.UNVERIFIABLE, "thread_local rolls cannot be regenerated");
+        }
+        GameEngine game = new GameEngine(gameId, mode, maxRounds, rngType, seed, maxPlayers, rules);
+        try {
+            players.forEach(game::addPlayer);
+            for (int round = 0; round < completedRounds; round++) {
+                if (round > 0) {
+                    game.nextRound();
+                }
+                for (int i = 0; i < playerCount; i++) {
+                    game.roll(rollOrder[round * playerCount + i]);
+                }
+            }
+            while (game.getCurrentRound() < currentRound) {
+                game.nextRound();
+            }
+            for (short slot : currentRolls) {
+                game.roll(slot);
+            }
+        } catch (RuntimeException e) {
+            return new Verdict(gameId, Result.MISMATCH, "Replay failed: " + e.getMessage());
+        }
+
+        if (game.getStatus() != status || game.getCurrentRound() != currentRound) {
+            return new Verdict(gameId, Result.MISMATCH, "Replay ended " + game.getStatus().name().toLowerCase()
+                + " in round " + game.getCurrentRound() + ", reported " + status.name().toLowerCase()
+                + " in round " + currentRound);
+        }
+        for (int i = 0; i < playerCount; i++) {
+            Player player = game.getPlayers().get(i);
+            if (player.getScore() != scores[i] || player.getRoundWins() != roundWins[i]) {
+                return new Verdict(gameId, Result.MISMATCH, player.getName() + " replayed to score "
+                    + player.getScore() + " with " + player.getRoundWins() + " round wins, reported "
+                    + scores[i] + " with " + roundWins[i]);
+            }
+        }
+        return new Verdict(gameId, Result.MATCH, null);
+    }
+}
@@ -0,0 +1,200 @@
+package com.dicegame.model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless PVC simulation using the same rules as {@link GameEngine}: each round
+ * every seat throws under the game's {@link DiceRules}, the single highest score
+ * wins the round, and the single seat with the most round wins takes the game.
+ * Seat 0 is the human, the others are computers. Games are played over primitives
+ * only and the batch is split across a fork-join pool; results depend only on the
+ * seed, not on how many threads ran the batch.
+ */
+public class GameSimulator {
+    public static final int MAX_ROUNDS = 10_000;
+    public static final long MAX_GAMES = 1_000_000_000L;
+
+    private static final long GAMES_PER_TASK = 4_096;
+
+    private final int rounds;
+    private final int players;
+    private final DiceRules rules;
+    private final long seed;
+
+    public GameSimulator(int rounds, int players, DiceRules rules, long seed) {
+        if (rounds < 1 || rounds > MAX_ROUNDS) {
+            throw new IllegalArgumentException("Rounds must be between 1 and " + MAX_ROUNDS);
+        }
+        if (players < 2) {
+            throw new IllegalArgumentException("A game needs at least 2 players");
+        }
+        this.rounds = rounds;
+        this.players = players;
+        this.rules = rules;
+        this.seed = seed;
+    }
+
+    /** Dice thrown by a batch of {@code games} games, the measure of its cost. */
+    public long rolls(long games) {
+        checkGames(games);
+        return games * rounds * players * rules.diceCount();
+    }
+
+    public Result simulate(long games, ForkJoinPool pool) {
+        checkGames(games);
+        return pool.invoke(new SimulationTask(0, games));
+    }
+
+    private static void checkGames(long games) {
+        if (games < 1 || games > MAX_GAMES) {
+            throw new IllegalArgumentException("Games must be between 1 and " + MAX_GAMES);
+        }
+    }
+
+    private Result playGames(long from, long to) {
+        Result result = new Result(rounds, players);
+        // One generator per leaf, derived from the leaf's position in the batch
+        SplittableRandom random = new SplittableRandom(seed ^ mix(from));
+        int count = rules.diceCount();
+        int faces = rules.faces();
+        int[] dice = new int[count];
+        int[] faceCounts = new int[faces + 1];
+        int[] roundWins = new int[players];
+        long[] scores = result.scoreTotals;
+        long[] throwScores = new long[(rules.scoring() == ScoringRule.HIGHEST ? faces : count * faces) + 1];
+
+        for (long game = from; game < to; game++) {
+            Arrays.fill(roundWins, 0);
+            for (int round = 0; round < rounds; round++) {
+                int best = Integer.MIN_VALUE;
+                int top = 0;
+                int winner = 0;
+                for (int seat = 0; seat < players; seat++) {
+                    for (int die = 0; die < count; die++) {
+                        dice[die] = random.nextInt(faces) + 1;
+                    }
+                    int score = rules.score(dice, 0, faceCounts);
+                    scores[seat] += score;
+                    // Pattern scores can run past the sum of the faces
+                    if (score >= throwScores.length) {
+                        throwScores = Arrays.copyOf(throwScores, Math.max(score + 1, throwScores.length * 2));
+                    }
+                    throwScores[score]++;
+                    if (score > best) {
+                        best = score;
+                        top = 1;
+                        winner = seat;
+                    } else if (score == best) {
+                        top++;
+                    }
+                }
+                if (top == 1) {
+                    roundWins[winner]++;
+                }
+            }
+
+            int best = -1;
+            int winner = -1;
+            for (int seat = 0; seat < players; seat++) {
+                if (roundWins[seat] > best) {
+                    best = roundWins[seat];
+                    winner = seat;
+                } else if (roundWins[seat] == best) {
+                    winner = -1;
+                }
+            }
+            if (winner < 0) {
+                result.draws++;
+            } else {
+                result.wins[winner]++;
+            }
+            result.player1RoundWinCounts[roundWins[0]]++;
+        }
+        result.games = to - from;
+        result.throwScoreCounts = throwScores;
+        return result;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private class SimulationTask extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        SimulationTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                return playGames(from, to);
+            }
+            long middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(from, middle);
+            left.fork();
+            Result right = new SimulationTask(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    public static class Result {
+        private final int rounds;
+        private long games;
+        private final long[] wins;
+        private long draws;
+        private final long[] scoreTotals;
+        private long[] throwScoreCounts;
+        private final long[] player1RoundWinCounts;
+
+        Result(int rounds, int players) {
+            this.rounds = rounds;
+            this.wins = new long[players];
+            this.scoreTotals = new long[players];
+            this.throwScoreCounts = new long[0];
+            this.player1RoundWinCounts = new long[rounds + 1];
+        }
+
+        Result merge(Result other) {
+            games += other.games;
+            draws += other.draws;
+            for (int seat = 0; seat < wins.length; seat++) {
+                wins[seat] += other.wins[seat];
+                scoreTotals[seat] += other.scoreTotals[seat];
+            }
+            if (other.throwScoreCounts.length > throwScoreCounts.length) {
+                throwScoreCounts = Arrays.copyOf(throwScoreCounts, other.throwScoreCounts.length);
+            }
+            for (int score = 0; score < other.throwScoreCounts.length; score++) {
+                throwScoreCounts[score] += other.throwScoreCounts[score];
+            }
+            for (int i = 0; i < player1RoundWinCounts.length; i++) {
+                player1RoundWinCounts[i] += other.player1RoundWinCounts[i];
+            }
+            return this;
+        }
+
+        // Getters
+        public int getRounds() { return rounds; }
+        public long getGames() { return games; }
+        /** Games won, by seat; seat 0 is the human. */
+        public long[] getWins() { return wins; }
+        public long getDraws() { return draws; }
+        /** Sum of every game's final score, by seat. */
+        public long[] getScoreTotals() { return scoreTotals; }
+        /** Throws of every seat, indexed by the throw's score. */
+        public long[] getThrowScoreCounts() { return throwScoreCounts; }
+        /** Games indexed by the number of rounds seat 0 won. */
+        public long[] getPlayer1RoundWinCounts() { return player1RoundWinCounts; }
+    }
+}
@@ -0,0 +1,27 @@
+package com.dicegame.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Adapts a seeded JDK generator owned by one game. Not thread safe; the game's
+ * commands are already serialized.
+ */
+public final class GeneratorDiceRng implements DiceRng {
+    private final Type type;
+    private final RandomGenerator generator;
+
+    GeneratorDiceRng(Type type, RandomGenerator generator) {
+        this.type = type;
+        this.generator = generator;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return generator.nextInt(bound);
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+}
@@ -0,0 +1,235 @@
+package com.dicegame.model;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Exact win, draw and loss probabilities of a two-player game, computed by
+ * dynamic programming instead of simulation. Each round moves the round-win
+ * difference by +1, 0 or -1, so the outcome depends only on the rounds left and
+ * the current difference. Row {@code r} of the table holds the tail probabilities
+ * of the difference after {@code r} more rounds; by symmetry only the non-negative
+ * half is kept, and each row stops where its tail falls below {@link #EPSILON},
+ * which keeps it to about 8.4 * sqrt(r) entries for a six-sided die.
+ * <p>
+ * The round probabilities come from the score distribution of one throw, so the
+ * same table serves any {@link DiceRules} whose distribution is known.
+ * <p>
+ * The table grows on demand, by at least doubling, under a lock taken only by the
+ * thread that grows it. Lookups read an immutable snapshot of the rows and are
+ * O(1) once the table covers the rounds asked for. A full table of 10000 rounds
+ * holds about 5.2M doubles (42 MB), so owners of several tables should bound them
+ * by {@link #getCells()}.
+ */
+public class OutcomeTable {
+
+    /** Outcome probabilities from the point of view of the first player. */
+    public record Odds(double win, double draw, double loss) {
+        public static final Odds WIN = new Odds(1, 0, 0);
+        public static final Odds DRAW = new Odds(0, 1, 0);
+        public static final Odds LOSS = new Odds(0, 0, 1);
+
+        public Odds flip() {
+            return new Odds(loss, draw, win);
+        }
+    }
+
+    // Probability mass dropped from the end of a row; far below double resolution near 1
+    private static final double EPSILON = 0x1p-64;
+    private static final int INITIAL_ROUNDS = 64;
+
+    private final int maxRounds;
+    // Chance that one player wins a round (the other scores lower), and that the round ties
+    private final double roundWin;
+    private final double roundTie;
+    // P(score == s) and P(score < s) of one throw, indexed by score
+    private final double[] scorePoints;
+    private final double[] scoreBelow;
+    // tails[r][k] = P(difference gained over r rounds >= k), k >= 0; entries past the end are 0
+    private volatile double[][] tails;
+    // Point probabilities of the last row, to extend the table from; guarded by this
+    private double[] lastPoints = {1.0};
+    private volatile long cells = 2;
+    private final LongConsumer onGrow;
+
+    /** A table for the classic one six-sided die. */
+    public OutcomeTable(int maxRounds) {
+        this(maxRounds, DiceRules.DEFAULT.scoreDistribution());
+    }
+    
+    /** A table for throws scoring {@code s} with probability {@code scoreDistribution[s]}. */
+    public OutcomeTable(int maxRounds, double[] scoreDistribution) {
+        this(maxRounds, scoreDistribution, added -> { });
+    }
+    
+    /** As above; {@code onGrow} is told how many cells each growth added, after the table has grown. */
+    public OutcomeTable(int maxRounds, double[] scoreDistribution, LongConsumer onGrow) {
+        if (maxRounds < 0) {
+            throw new IllegalArgumentException("Max rounds must not be negative");
+        }
+        this.maxRounds = maxRounds;
+        this.scorePoints = scoreDistribution.clone();
+        this.scoreBelow = new double[scorePoints.length];
+        double below = 0;
+        double win = 0;
+        double tie = 0;
+        for (int score = 0; score < scorePoints.length; score++) {
+            scoreBelow[score] = below;
+            win += scorePoints[score] * below;
+            tie += scorePoints[score] * scorePoints[score];
+            below += scorePoints[score];
+        }
+        this.roundWin = win;
+        this.roundTie = tie;
+        this.tails = new double[][] {{1.0, 0.0}};
+        this.onGrow = onGrow;
+    }
+
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+
+    /** Doubles held by the rows computed so far. */
+    public long getCells() {
+        return cells;
+    }
+
+    /**
+     * Odds for the player leading by {@code lead} round wins (negative when behind)
+     * with {@code roundsLeft} rounds still to play. Returns null past
+     * {@link #getMaxRounds()}.
+     */
+    public Odds odds(int roundsLeft, int lead) {
+        if (roundsLeft < 0) {
+            throw new IllegalArgumentException("Rounds left must not be negative");
+        }
+        if (Math.abs(lead) > roundsLeft) {
+            return lead > 0 ? Odds.WIN : Odds.LOSS;
+        }
+        if (roundsLeft > maxRounds) {
+            return null;
+        }
+        double[][] rows = tails;
+        if (roundsLeft >= rows.length) {
+            rows = grow(roundsLeft);
+        }
+        double[] row = rows[roundsLeft];
+        double win = atLeast(row, 1 - lead);
+        double loss = atLeast(row, 1 + lead);
+        return new Odds(win, Math.max(0.0, 1.0 - win - loss), loss);
+    }
+
+    /**
+     * Odds for each player of a two-player game in its current state, including a
+     * round in which only one player has rolled. Returns null for other player counts
+     * or past {@link #getMaxRounds()}.
+     */
+    public Odds[] odds(GameEngine game) {
+        if (game.getPlayers().size() != 2) {
+            return null;
+        }
+        Odds first = firstPlayerOdds(game);
+        return first != null ? new Odds[] {first, first.flip()} : null;
+    }
+
+    private Odds firstPlayerOdds(GameEngine game) {
+        int lead = game.getPlayers().get(0).getRoundWins() - game.getPlayers().get(1).getRoundWins();
+        switch (game.getStatus()) {
+            case GAME_COMPLETE:
+                return lead > 0 ? Odds.WIN : lead < 0 ? Odds.LOSS : Odds.DRAW;
+            case WAITING:
+                return odds(game.getMaxRounds(), 0);
+            case ROUND_COMPLETE:
+                return odds(game.getMaxRounds() - game.getCurrentRound(), lead);
+            default:
+                break;
+        }
+        int roundsAfter = game.getMaxRounds() - game.getCurrentRound();
+        boolean firstRolled = game.hasRolled(0);
+        if (firstRolled == game.hasRolled(1)) {
+            return odds(roundsAfter + 1, lead);
+        }
+        // One roll is in: the round is decided by how the other player's roll compares with it
+        int value = game.getRollValue(firstRolled ? 0 : 1);
+        double below = value < scoreBelow.length ? scoreBelow[value] : 1.0;
+        double same = value < scorePoints.length ? scorePoints[value] : 0.0;
+        double above = Math.max(0.0, 1.0 - below - same);
+        double roundWin = firstRolled ? below : above;
+        double roundLoss = firstRolled ? above : below;
+        Odds ahead = odds(roundsAfter, lead + 1);
+        Odds level = odds(roundsAfter, lead);
+        Odds behind = odds(roundsAfter, lead - 1);
+        if (ahead == null || level == null || behind == null) {
+            return null;
+        }
+        return new Odds(
+            roundWin * ahead.win() + same * level.win() + roundLoss * behind.win(),
+            roundWin * ahead.draw() + same * level.draw() + roundLoss * behind.draw(),
+            roundWin * ahead.loss() + same * level.loss() + roundLoss * behind.loss());
+    }
+
+    // P(gain >= k) from a row of non-negative tails, using the symmetry of the gain
+    private static double atLeast(double[] row, int k) {
+        if (k <= 0) {
+            return 1.0 - tail(row, 1 - k);
+        }
+        return tail(row, k);
+    }
+
+    private static double tail(double[] row, int k) {
+        return k < row.length ? row[k] : 0.0;
+    }
+
+    private double[][] grow(int roundsLeft) {
+        double[][] grown;
+        long added = 0;
+        synchronized (this) {
+            double[][] rows = tails;
+            if (roundsLeft < rows.length) {
+                return rows;
+            }
+            int size = Math.min(maxRounds, Math.max(roundsLeft, Math.max(INITIAL_ROUNDS, 2 * (rows.length - 1)))) + 1;
+            grown = Arrays.copyOf(rows, size);
+            double[] points = lastPoints;
+            for (int r = rows.length; r < size; r++) {
+                points = step(points);
+                grown[r] = toTails(points);
+                added += grown[r].length;
+            }
+            lastPoints = points;
+            tails = grown;
+            cells += added;
+        }
+        // Outside the lock, so the owner may look at other tables
+        onGrow.accept(added);
+        return grown;
+    }
+
+    // One more round: the gain moves up or down with roundWin each, or stays put on a tie
+    private double[] step(double[] points) {
+        double[] next = new double[points.length + 1];
+        for (int k = 0; k < next.length; k++) {
+            double below = k == 0 ? point(points, 1) : point(points, k - 1);
+            next[k] = roundWin * (below + point(points, k + 1)) + roundTie * point(points, k);
+        }
+        // Drop the far tail once its total mass is negligible
+        int length = next.length;
+        double dropped = 0;
+        while (length > 1 && dropped + next[length - 1] < EPSILON) {
+            dropped += next[--length];
+        }
+        return length == next.length ? next : Arrays.copyOf(next, length);
+    }
+
+    private static double point(double[] points, int k) {
+        return k < points.length ? points[k] : 0.0;
+    }
+
+    private static double[] toTails(double[] points) {
+        double[] row = new double[points.length + 1];
+        for (int k = points.length - 1; k >= 0; k--) {
+            row[k] = row[k + 1] + points[k];
+        }
+        return row;
+    }
+}
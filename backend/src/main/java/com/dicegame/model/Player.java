@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "players")
+@Table(name = "players", indexes = {
+    @Index(name = "idx_players_total_wins", columnList = "total_wins"),
+    // The stats writer updates and reads players by name
+    @Index(name = "uk_players_name", columnList = "name", unique = true)
+})
 public class Player {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,26 @@
+package com.dicegame.model;
+
+/**
+ * Rolls as soon as every human player has rolled this round. A roll has no
+ * choices to make, so this is the whole policy for the current rules.
+ */
+public final class RollAfterHumansStrategy implements ComputerStrategy {
+    public static final RollAfterHumansStrategy INSTANCE = new RollAfterHumansStrategy();
+
+    private RollAfterHumansStrategy() {}
+
+    @Override
+    public Action decide(GameEngine game, int slot, OutcomeTable odds) {
+        for (int other = 0; other < game.getPlayers().size(); other++) {
+            if (!game.getPlayers().get(other).isComputer() && !game.hasRolled(other)) {
+                return Action.WAIT;
+            }
+        }
+        return Action.ROLL;
+    }
+
+    @Override
+    public Type getType() {
+        return Type.ROLL_AFTER_HUMANS;
+    }
+}
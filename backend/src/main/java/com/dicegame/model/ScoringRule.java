@@ -0,0 +1,96 @@
+package com.dicegame.model;
+
+import java.util.Arrays;
+
+/**
+ * How a throw of several dice is scored; the highest score wins the round. All
+ * rules read the throw from a slice of a flat array and allocate nothing.
+ */
+public enum ScoringRule {
+    /** Total of the faces. */
+    SUM {
+        @Override
+        public int score(int[] dice, int from, int count, int faces, int[] counts) {
+            int sum = 0;
+            for (int i = from; i < from + count; i++) {
+                sum += dice[i];
+            }
+            return sum;
+        }
+    },
+    /** Highest face. */
+    HIGHEST {
+        @Override
+        public int score(int[] dice, int from, int count, int faces, int[] counts) {
+            int highest = 0;
+            for (int i = from; i < from + count; i++) {
+                highest = Math.max(highest, dice[i]);
+            }
+            return highest;
+        }
+    },
+    /**
+     * Poker-dice patterns, best first: n of a kind for n >= 5, four of a kind, full
+     * house, straight, three of a kind, two pairs, one pair, nothing. A straight is
+     * min(dice, 5) consecutive faces and needs at least 3 dice. Equal patterns are
+     * ranked by the total of the faces.
+     */
+    PATTERN {
+        @Override
+        public int score(int[] dice, int from, int count, int faces, int[] counts) {
+            Arrays.fill(counts, 0, faces + 1, 0);
+            int sum = 0;
+            for (int i = from; i < from + count; i++) {
+                counts[dice[i]]++;
+                sum += dice[i];
+            }
+            int most = 0;
+            int second = 0;
+            int pairs = 0;
+            int run = 0;
+            int longestRun = 0;
+            for (int face = 1; face <= faces; face++) {
+                int n = counts[face];
+                if (n >= 2) {
+                    pairs++;
+                }
+                if (n > most) {
+                    second = most;
+                    most = n;
+                } else if (n > second) {
+                    second = n;
+                }
+                run = n > 0 ? run + 1 : 0;
+                longestRun = Math.max(longestRun, run);
+            }
+            boolean straight = count >= 3 && longestRun >= Math.min(count, 5);
+            int pattern;
+            if (most >= 4) {
+                pattern = 6 + most - 4;
+            } else if (most == 3 && second >= 2) {
+                pattern = 5;
+            } else if (straight) {
+                pattern = 4;
+            } else if (most == 3) {
+                pattern = 3;
+            } else {
+                pattern = Math.min(pairs, 2);
+            }
+            return pattern * (count * faces + 1) + sum;
+        }
+    };
+
+    /**
+     * Scores the throw in {@code dice[from, from + count)} of dice numbered
+     * {@code 1..faces}; {@code counts} is scratch space of at least faces + 1 ints.
+     */
+    public abstract int score(int[] dice, int from, int count, int faces, int[] counts);
+
+    public static ScoringRule parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown scoring rule: " + name);
+        }
+    }
+}
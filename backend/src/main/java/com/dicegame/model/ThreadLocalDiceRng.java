@@ -0,0 +1,23 @@
+package com.dicegame.model;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-thread generator shared by every game on the thread. Contention free, but
+ * not seedable, so games using it cannot be replayed.
+ */
+public final class ThreadLocalDiceRng implements DiceRng {
+    public static final ThreadLocalDiceRng INSTANCE = new ThreadLocalDiceRng();
+
+    private ThreadLocalDiceRng() {}
+
+    @Override
+    public int nextInt(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    @Override
+    public Type getType() {
+        return Type.THREAD_LOCAL;
+    }
+}
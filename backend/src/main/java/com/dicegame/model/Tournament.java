@@ -0,0 +1,457 @@
+package com.dicegame.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * A knockout or round-robin tournament whose matches are two-player
+ * {@link GameEngine} games. Matches that are ready run as fork-join tasks, so idle
+ * workers steal them; a knockout match becomes ready when the last of its two
+ * feeder matches finishes, which is decided by a per-match counter rather than a
+ * lock. Standings are updated atomically as each match completes. Every match is
+ * seeded from the tournament seed and its index, so results do not depend on the
+ * order in which matches happen to run.
+ */
+public class Tournament {
+    public enum Format { KNOCKOUT, ROUND_ROBIN }
+
+    public enum Status { RUNNING, COMPLETE, CANCELLED, FAILED }
+
+    /** Receives progress from the worker threads; must not block. */
+    public interface Listener {
+        void onMatchComplete(Tournament tournament, int match);
+
+        void onStageComplete(Tournament tournament, int stage);
+
+        void onFinished(Tournament tournament);
+    }
+
+    public static final int MAX_MATCH_ROUNDS = 99;
+    /** Entrant slot of a match whose opponent is still to be decided. */
+    public static final int TBD = -1;
+    /** Entrant slot of a first-round knockout match against nobody. */
+    public static final int BYE = -2;
+    /** Winner of a drawn round-robin match. */
+    public static final int DRAW = -3;
+
+    private static final int POINTS_PER_WIN = 3;
+    private static final int POINTS_PER_DRAW = 1;
+    private static final int MATCHES_PER_TASK = 64;
+    // One-round deciders played after a drawn knockout match, before the higher seed goes through
+    private static final int MAX_DECIDERS = 16;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final String id;
+    private final Format format;
+    private final String[] entrants;
+    private final int matchRounds;
+    private final DiceRng.Type rngType;
+    private final long seed;
+
+    private final int matchCount;
+    // stageStarts[s - 1] is the first match of stage s; the last entry is matchCount
+    private final int[] stageStarts;
+    private final int[] playerA;
+    private final int[] playerB;
+    private final int[] winners;
+    private final byte[] roundWinsA;
+    private final byte[] roundWinsB;
+    private final AtomicIntegerArray pendingFeeders;
+    private final AtomicIntegerArray stageRemaining;
+    private final AtomicInteger matchesCompleted = new AtomicInteger();
+
+    private final AtomicIntegerArray wins;
+    private final AtomicIntegerArray draws;
+    private final AtomicIntegerArray losses;
+    private final AtomicIntegerArray roundDifference;
+    // Knockout: stage each entrant was knocked out in, 0 while still in
+    private final int[] eliminatedInStage;
+
+    private final long startedNanos = System.nanoTime();
+    private volatile long finishedNanos;
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.RUNNING);
+    private volatile String failure;
+    private volatile int champion = TBD;
+    private Listener listener;
+
+    public Tournament(String id, Format format, List<String> entrants, int matchRounds, DiceRng.Type rngType, long seed) {
+        if (entrants.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least 2 entrants");
+        }
+        if (new HashSet<>(entrants).size() != entrants.size()) {
+            throw new IllegalArgumentException("Entrant names must be unique");
+        }
+        if (matchRounds < 1 || matchRounds > MAX_MATCH_ROUNDS) {
+            throw new IllegalArgumentException("Match rounds must be between 1 and " + MAX_MATCH_ROUNDS);
+        }
+        this.id = id;
+        this.format = format;
+        this.entrants = entrants.toArray(new String[0]);
+        this.matchRounds = matchRounds;
+        this.rngType = rngType;
+        this.seed = seed;
+
+        int n = this.entrants.length;
+        if (format == Format.KNOCKOUT) {
+            int size = Integer.highestOneBit(n - 1) << 1;
+            int stages = Integer.numberOfTrailingZeros(size);
+            this.matchCount = size - 1;
+            this.stageStarts = new int[stages + 1];
+            for (int stage = 1, start = 0; stage <= stages; stage++) {
+                stageStarts[stage - 1] = start;
+                start += size >>> stage;
+            }
+            stageStarts[stages] = matchCount;
+        } else {
+            // Circle method: n - 1 stages (n if odd) in which everyone plays at most once
+            int slots = n + (n & 1);
+            long count = (long) n * (n - 1) / 2;
+            if (count > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Too many entrants for a round robin");
+            }
+            this.matchCount = (int) count;
+            this.stageStarts = new int[slots];
+            for (int stage = 1; stage < slots; stage++) {
+                stageStarts[stage - 1] = (stage - 1) * (n / 2);
+            }
+            stageStarts[slots - 1] = matchCount;
+        }
+
+        this.playerA = new int[matchCount];
+        this.playerB = new int[matchCount];
+        this.winners = new int[matchCount];
+        this.roundWinsA = new byte[matchCount];
+        this.roundWinsB = new byte[matchCount];
+        this.pendingFeeders = new AtomicIntegerArray(matchCount);
+        this.stageRemaining = new AtomicIntegerArray(getStageCount());
+        for (int stage = 1; stage <= getStageCount(); stage++) {
+            stageRemaining.set(stage - 1, stageStarts[stage] - stageStarts[stage - 1]);
+        }
+        this.wins = new AtomicIntegerArray(n);
+        this.draws = new AtomicIntegerArray(n);
+        this.losses = new AtomicIntegerArray(n);
+        this.roundDifference = new AtomicIntegerArray(n);
+        this.eliminatedInStage = new int[format == Format.KNOCKOUT ? n : 0];
+        Arrays.fill(winners, TBD);
+
+        if (format == Format.KNOCKOUT) {
+            seedKnockout();
+        } else {
+            scheduleRoundRobin();
+        }
+    }
+
+    // Standard seeding: seed 1 meets seed 2 in the final at the earliest, and byes go to the top seeds
+    private void seedKnockout() {
+        int size = matchCount + 1;
+        int[] order = {1};
+        while (order.length < size) {
+            int[] next = new int[order.length * 2];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = 2 * order.length + 1 - order[i];
+            }
+            order = next;
+        }
+        int firstStage = size / 2;
+        for (int match = 0; match < firstStage; match++) {
+            playerA[match] = order[2 * match] <= entrants.length ? order[2 * match] - 1 : BYE;
+            playerB[match] = order[2 * match + 1] <= entrants.length ? order[2 * match + 1] - 1 : BYE;
+        }
+        for (int match = firstStage; match < matchCount; match++) {
+            playerA[match] = TBD;
+            playerB[match] = TBD;
+            pendingFeeders.set(match, 2);
+        }
+    }
+
+    private void scheduleRoundRobin() {
+        int n = entrants.length;
+        int slots = n + (n & 1);
+        int match = 0;
+        for (int stage = 0; stage < slots - 1; stage++) {
+            // Slot slots - 1 stays put while the others rotate; with an odd field it is the bye
+            for (int k = 0; k < slots / 2; k++) {
+                int a = k == 0 ? slots - 1 : (stage + k) % (slots - 1);
+                int b = k == 0 ? stage : (stage - k + slots - 1) % (slots - 1);
+                if (a >= n || b >= n) {
+                    continue;
+                }
+                playerA[match] = Math.min(a, b);
+                playerB[match] = Math.max(a, b);
+                match++;
+            }
+        }
+    }
+
+    /** Runs the tournament on the pool; returns at once. May only be called once. */
+    public void start(ForkJoinPool pool, Listener listener) {
+        this.listener = listener;
+        if (format == Format.ROUND_ROBIN) {
+            pool.execute(new MatchRange(null, 0, matchCount));
+            return;
+        }
+        int firstStage = (matchCount + 1) / 2;
+        int[] ready = new int[matchCount];
+        int readyCount = 0;
+        for (int match = 0; match < firstStage; match++) {
+            if (playerB[match] != BYE) {
+                ready[readyCount++] = match;
+                continue;
+            }
+            // The top seed walks through; two byes feeding one match make that match ready now
+            int parent = finish(match, playerA[match], BYE);
+            if (parent >= 0) {
+                ready[readyCount++] = parent;
+            }
+        }
+        pool.execute(new MatchRange(ready, 0, readyCount));
+    }
+
+    /** Stops scheduling matches; those already running still complete. */
+    public boolean cancel() {
+        if (!status.compareAndSet(Status.RUNNING, Status.CANCELLED)) {
+            return false;
+        }
+        finishedNanos = System.nanoTime();
+        listener.onFinished(this);
+        return true;
+    }
+
+    // Plays one match and returns the knockout match it made ready, or -1
+    private int play(int match) {
+        if (status.get() != Status.RUNNING) {
+            return -1;
+        }
+        int a = playerA[match];
+        int b = playerB[match];
+        long matchSeed = mix(seed + (match + 1) * GOLDEN_GAMMA);
+        GameEngine game = playGame(match, a, b, matchRounds, matchSeed);
+        int roundsA = game.getPlayers().get(0).getRoundWins();
+        int roundsB = game.getPlayers().get(1).getRoundWins();
+        roundWinsA[match] = (byte) roundsA;
+        roundWinsB[match] = (byte) roundsB;
+        int winner = winnerOf(game, a, b);
+        roundDifference.addAndGet(a, roundsA - roundsB);
+        roundDifference.addAndGet(b, roundsB - roundsA);
+
+        if (format == Format.ROUND_ROBIN) {
+            if (winner == DRAW) {
+                draws.incrementAndGet(a);
+                draws.incrementAndGet(b);
+            } else {
+                wins.incrementAndGet(winner);
+                losses.incrementAndGet(winner == a ? b : a);
+            }
+            return finish(match, winner, TBD);
+        }
+
+        for (int decider = 1; winner == DRAW && decider <= MAX_DECIDERS; decider++) {
+            winner = winnerOf(playGame(match, a, b, 1, mix(matchSeed + decider * GOLDEN_GAMMA)), a, b);
+        }
+        if (winner == DRAW) {
+            winner = a; // still level: the higher seed goes through
+        }
+        wins.incrementAndGet(winner);
+        losses.incrementAndGet(winner == a ? b : a);
+        return finish(match, winner, winner == a ? b : a);
+    }
+
+    private GameEngine playGame(int match, int a, int b, int rounds, long gameSeed) {
+        GameEngine game = new GameEngine(id + "-" + match, GameEngine.GameMode.PVP, rounds, rngType, gameSeed);
+        game.addPlayer(new Player(entrants[a], false));
+        game.addPlayer(new Player(entrants[b], false));
+        while (true) {
+            game.roll(0);
+            game.roll(1);
+            if (game.isGameComplete()) {
+                return game;
+            }
+            game.nextRound();
+        }
+    }
+
+    private int winnerOf(GameEngine game, int a, int b) {
+        Player winner = game.getGameWinner();
+        if (winner == null) {
+            return DRAW;
+        }
+        return winner == game.getPlayers().get(0) ? a : b;
+    }
+
+    // Records the result; the counters make the last feeder of a match, and the last match, act on it
+    private int finish(int match, int winner, int loser) {
+        winners[match] = winner;
+        int stage = getStage(match);
+        int ready = -1;
+        if (format == Format.KNOCKOUT) {
+            if (loser >= 0) {
+                eliminatedInStage[loser] = stage;
+            }
+            if (stage == getStageCount()) {
+                champion = winner;
+            } else {
+                int position = match - stageStarts[stage - 1];
+                int parent = stageStarts[stage] + position / 2;
+                if ((position & 1) == 0) {
+                    playerA[parent] = winner;
+                } else {
+                    playerB[parent] = winner;
+                }
+                if (pendingFeeders.decrementAndGet(parent) == 0) {
+                    ready = parent;
+                }
+            }
+        }
+        int completed = matchesCompleted.incrementAndGet();
+        listener.onMatchComplete(this, match);
+        if (stageRemaining.decrementAndGet(stage - 1) == 0) {
+            listener.onStageComplete(this, stage);
+        }
+        if (completed == matchCount && status.compareAndSet(Status.RUNNING, Status.COMPLETE)) {
+            finishedNanos = System.nanoTime();
+            listener.onFinished(this);
+        }
+        return ready;
+    }
+
+    private void fail(RuntimeException e) {
+        failure = e.toString();
+        if (status.compareAndSet(Status.RUNNING, Status.FAILED)) {
+            finishedNanos = System.nanoTime();
+            listener.onFinished(this);
+        }
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Entrants from first to last place. Round robin ranks by points (3 per win, 1 per
+     * draw), then round difference; knockout by the stage reached. Ties keep seed order.
+     */
+    public int[] getRanking() {
+        Comparator<Integer> order;
+        if (format == Format.ROUND_ROBIN) {
+            order = Comparator.<Integer>comparingInt(this::getPoints).reversed()
+                .thenComparing(Comparator.<Integer>comparingInt(roundDifference::get).reversed());
+        } else {
+            int stillIn = getStageCount() + 1;
+            order = Comparator.<Integer>comparingInt(entrant -> entrant == champion ? stillIn + 1
+                    : eliminatedInStage[entrant] == 0 ? stillIn : eliminatedInStage[entrant])
+                .reversed();
+        }
+        return IntStream.range(0, entrants.length).boxed()
+            .sorted(order.thenComparingInt(Integer::intValue))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    private final class MatchRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] matches; // null for every match in [from, to)
+        private final int from;
+        private final int to;
+
+        MatchRange(int[] matches, int from, int to) {
+            this.matches = matches;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > MATCHES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new MatchRange(matches, from, middle), new MatchRange(matches, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                new PlayMatch(matches != null ? matches[i] : i).compute();
+            }
+        }
+    }
+
+    private final class PlayMatch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int match;
+
+        PlayMatch(int match) {
+            this.match = match;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                int ready = play(match);
+                if (ready >= 0) {
+                    new PlayMatch(ready).fork();
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public Format getFormat() { return format; }
+    public int getMatchRounds() { return matchRounds; }
+    public DiceRng.Type getRngType() { return rngType; }
+    public long getSeed() { return seed; }
+    public Status getStatus() { return status.get(); }
+    public String getFailure() { return failure; }
+
+    public int getEntrantCount() { return entrants.length; }
+    public String getEntrant(int entrant) { return entrant >= 0 ? entrants[entrant] : null; }
+
+    public int getMatchCount() { return matchCount; }
+    public int getMatchesCompleted() { return matchesCompleted.get(); }
+    public int getStageCount() { return stageStarts.length - 1; }
+    public int getStageStart(int stage) { return stageStarts[stage - 1]; }
+    public int getStageEnd(int stage) { return stageStarts[stage]; }
+
+    public int getStage(int match) {
+        int found = Arrays.binarySearch(stageStarts, match);
+        // Stages are never empty, so an exact hit is the first match of that stage
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    public int getPlayerA(int match) { return playerA[match]; }
+    public int getPlayerB(int match) { return playerB[match]; }
+    public int getWinner(int match) { return winners[match]; }
+    public int getRoundWinsA(int match) { return roundWinsA[match]; }
+    public int getRoundWinsB(int match) { return roundWinsB[match]; }
+
+    /** Winner of the final, or {@link #TBD}; always TBD for a round robin. */
+    public int getChampion() { return champion; }
+
+    public int getWins(int entrant) { return wins.get(entrant); }
+    public int getDraws(int entrant) { return draws.get(entrant); }
+    public int getLosses(int entrant) { return losses.get(entrant); }
+    public int getRoundDifference(int entrant) { return roundDifference.get(entrant); }
+    public int getPoints(int entrant) { return POINTS_PER_WIN * wins.get(entrant) + POINTS_PER_DRAW * draws.get(entrant); }
+    public int getEliminatedInStage(int entrant) { return format == Format.KNOCKOUT ? eliminatedInStage[entrant] : 0; }
+
+    public int getStageRemaining(int stage) { return stageRemaining.get(stage - 1); }
+
+    public long getStartedNanos() { return startedNanos; }
+
+    public long getElapsedNanos() {
+        long finished = finishedNanos;
+        return (finished != 0 ? finished : System.nanoTime()) - startedNanos;
+    }
+}
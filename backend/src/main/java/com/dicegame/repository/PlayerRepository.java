@@ -1,6 +1,7 @@
 package com.dicegame.repository;
 
 import com.dicegame.model.Player;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,4 +13,5 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
     Optional<Player> findByName(String name);
     List<Player> findTop10ByOrderByTotalWinsDesc();
     List<Player> findByIsComputerFalseOrderByTotalWinsDesc();
+    List<Player> findByIsComputerFalse(Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.dicegame.service;
+
+import com.dicegame.dto.GameStateDto;
+import com.dicegame.model.GameEngine;
+
+/**
+ * An entry in the active game table. The engine is only touched from the game's
+ * executor stripe; readers use the last published snapshot instead.
+ */
+public class ActiveGame {
+    private final GameEngine engine;
+    private final long createdNanos;
+    private volatile long lastAccessNanos;
+    private volatile Snapshot snapshot;
+    private volatile boolean ended;
+    private long eventSeq; // stripe only
+    private long lastLsn; // stripe only: event log position of the latest logged change
+
+    public ActiveGame(GameEngine engine) {
+        this(engine, 0);
+    }
+
+    /** Continues the event sequence of a game that was served elsewhere, so ETags and deltas keep increasing. */
+    public ActiveGame(GameEngine engine, long eventSeq) {
+        this.engine = engine;
+        this.eventSeq = eventSeq;
+        this.createdNanos = System.nanoTime();
+        this.lastAccessNanos = createdNanos;
+    }
+
+    public GameEngine getEngine() { return engine; }
+
+    public String getGameId() { return engine.getGameId(); }
+
+    public long getCreatedNanos() { return createdNanos; }
+
+    public long getLastAccessNanos() { return lastAccessNanos; }
+    public void touch() { this.lastAccessNanos = System.nanoTime(); }
+
+    public Snapshot getSnapshot() { return snapshot; }
+    public void setSnapshot(GameStateDto state) { this.snapshot = new Snapshot(state); }
+
+    public long getEventSeq() { return eventSeq; }
+    public long nextEventSeq() { return ++eventSeq; }
+
+    public long getLastLsn() { return lastLsn; }
+    public void setLastLsn(long lastLsn) { this.lastLsn = lastLsn; }
+
+    public boolean isEnded() { return ended; }
+    public void markEnded() { this.ended = true; }
+
+    /**
+     * A published state plus its serialized JSON, filled in by the first reader that
+     * needs it. A new Snapshot is created per state change, so cached bytes can never
+     * belong to a different state.
+     */
+    public static class Snapshot {
+        private final GameStateDto state;
+        private volatile byte[] json;
+
+        Snapshot(GameStateDto state) {
+            this.state = state;
+        }
+
+        public GameStateDto getState() { return state; }
+
+        public byte[] getJson() { return json; }
+        public void setJson(byte[] json) { this.json = json; }
+    }
+}
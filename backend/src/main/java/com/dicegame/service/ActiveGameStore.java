@@ -0,0 +1,230 @@
+package com.dicegame.service;
+
+import com.dicegame.dto.ActiveGameMetricsDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded table of in-progress games. A sweeper evicts games that have been idle
+ * or alive for too long, and spills the least recently used games when the table
+ * grows past its cap. Evictions run on the game's stripe and are handed to the
+ * registered listener so the game can be summarized rather than dropped.
+ */
+@Component
+public class ActiveGameStore {
+    
+    private static final Logger log = LoggerFactory.getLogger(ActiveGameStore.class);
+    
+    public enum EvictionCause {
+        IDLE, EXPIRED, CAPACITY
+    }
+    
+    public interface EvictionListener {
+        void onEvicted(ActiveGame game, EvictionCause cause);
+    }
+    
+    private final GameExecutor gameExecutor;
+    private final int maxGames;
+    private final long idleTimeoutNanos;
+    private final long maxLifetimeNanos;
+    private final long sweepIntervalMillis;
+    
+    private final ConcurrentHashMap<String, ActiveGame> games = new ConcurrentHashMap<>();
+    // Games whose eviction is queued on their stripe but has not run yet
+    private final Set<String> evicting = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "active-game-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean spillScheduled = new AtomicBoolean();
+    private volatile EvictionListener evictionListener = (game, cause) -> { };
+    
+    private final LongAdder evictedIdle = new LongAdder();
+    private final LongAdder evictedExpired = new LongAdder();
+    private final LongAdder evictedCapacity = new LongAdder();
+    private volatile long retainedBytes;
+    private volatile long lastSweepNanos;
+    
+    public ActiveGameStore(GameExecutor gameExecutor,
+                           @Value("${dicegame.games.max-active:100000}") int maxGames,
+                           @Value("${dicegame.games.idle-timeout-ms:1800000}") long idleTimeoutMillis,
+                           @Value("${dicegame.games.max-lifetime-ms:86400000}") long maxLifetimeMillis,
+                           @Value("${dicegame.games.sweep-interval-ms:10000}") long sweepIntervalMillis) {
+        this.gameExecutor = gameExecutor;
+        this.maxGames = maxGames;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.maxLifetimeNanos = TimeUnit.MILLISECONDS.toNanos(maxLifetimeMillis);
+        this.sweepIntervalMillis = sweepIntervalMillis;
+    }
+    
+    @PostConstruct
+    public void start() {
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public void setEvictionListener(EvictionListener evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+    
+    /** Looks a game up and marks it as used. */
+    public ActiveGame get(String gameId) {
+        ActiveGame game = games.get(gameId);
+        if (game != null) {
+            game.touch();
+        }
+        return game;
+    }
+    
+    /** Whether the game is held here, without marking it as used. */
+    public boolean contains(String gameId) {
+        return games.containsKey(gameId);
+    }
+    
+    public void put(ActiveGame game) {
+        games.put(game.getGameId(), game);
+        if (games.size() > maxGames && spillScheduled.compareAndSet(false, true)) {
+            sweeper.execute(this::spill);
+        }
+    }
+    
+    public ActiveGame remove(String gameId) {
+        return games.remove(gameId);
+    }
+    
+    public boolean remove(String gameId, ActiveGame game) {
+        return games.remove(gameId, game);
+    }
+    
+    public int size() {
+        return games.size();
+    }
+    
+    public Collection<ActiveGame> values() {
+        return games.values();
+    }
+    
+    private void sweep() {
+        try {
+            long now = System.nanoTime();
+            long bytes = 0;
+            for (ActiveGame game : games.values()) {
+                if (now - game.getCreatedNanos() >= maxLifetimeNanos) {
+                    evict(game, EvictionCause.EXPIRED);
+                } else if (now - game.getLastAccessNanos() >= idleTimeoutNanos) {
+                    evict(game, EvictionCause.IDLE);
+                } else {
+                    // Read off-stripe, so this is an estimate
+                    bytes += game.getEngine().estimateRetainedBytes();
+                }
+            }
+            retainedBytes = bytes;
+            lastSweepNanos = System.nanoTime() - now;
+            spill();
+        } catch (RuntimeException e) {
+            log.warn("Active game sweep failed", e);
+        }
+    }
+    
+    private void spill() {
+        spillScheduled.set(false);
+        // Queued evictions will shrink the table already, so only the rest is spilled
+        int overflow = games.size() - evicting.size() - maxGames;
+        if (overflow <= 0) {
+            return;
+        }
+        // The least recently used games, kept in a heap of the overflow's size with the newest on top
+        PriorityQueue<Victim> victims = new PriorityQueue<>(overflow,
+            Comparator.comparingLong(Victim::lastAccessNanos).reversed());
+        for (ActiveGame game : games.values()) {
+            if (evicting.contains(game.getGameId())) {
+                continue;
+            }
+            // Stamped once, as the game's own stamp can move while it sits in the heap
+            long lastAccessNanos = game.getLastAccessNanos();
+            if (victims.size() < overflow) {
+                victims.add(new Victim(game, lastAccessNanos));
+            } else if (lastAccessNanos < victims.peek().lastAccessNanos()) {
+                victims.poll();
+                victims.add(new Victim(game, lastAccessNanos));
+            }
+        }
+        for (Victim victim : victims) {
+            evict(victim.game(), EvictionCause.CAPACITY);
+        }
+    }
+    
+    private record Victim(ActiveGame game, long lastAccessNanos) { }
+    
+    private void evict(ActiveGame game, EvictionCause cause) {
+        if (!evicting.add(game.getGameId())) {
+            return;
+        }
+        gameExecutor.submit(game.getGameId(), () -> {
+            try {
+                if (game.isEnded()) {
+                    return null;
+                }
+                // A command may have arrived while the eviction was queued
+                if (cause == EvictionCause.IDLE && System.nanoTime() - game.getLastAccessNanos() < idleTimeoutNanos) {
+                    return null;
+                }
+                game.markEnded();
+                games.remove(game.getGameId(), game);
+                counterFor(cause).increment();
+                evictionListener.onEvicted(game, cause);
+                return null;
+            } finally {
+                evicting.remove(game.getGameId());
+            }
+        }).exceptionally(e -> {
+            log.warn("Evicting game {} failed", game.getGameId(), e);
+            return null;
+        });
+    }
+    
+    private LongAdder counterFor(EvictionCause cause) {
+        switch (cause) {
+            case IDLE:
+                return evictedIdle;
+            case EXPIRED:
+                return evictedExpired;
+            default:
+                return evictedCapacity;
+        }
+    }
+    
+    public ActiveGameMetricsDto getMetrics() {
+        int live = games.size();
+        ActiveGameMetricsDto dto = new ActiveGameMetricsDto();
+        dto.setLiveGames(live);
+        dto.setMaxGames(maxGames);
+        dto.setEvictedIdle(evictedIdle.sum());
+        dto.setEvictedExpired(evictedExpired.sum());
+        dto.setEvictedCapacity(evictedCapacity.sum());
+        dto.setRetainedBytes(retainedBytes);
+        dto.setAverageRetainedBytesPerGame(live > 0 ? retainedBytes / live : 0);
+        dto.setLastSweepMillis(lastSweepNanos / 1e6);
+        return dto;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+}
@@ -0,0 +1,107 @@
+package com.dicegame.service;
+
+import com.dicegame.metrics.Counter;
+import com.dicegame.metrics.MetricsRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds new games once the node is full, so games already in progress keep their
+ * latency. A game is refused when the active game count is at its threshold, or
+ * when the heap still held after the last collection is over its threshold. Heap
+ * use is sampled in the background; the check on the start path reads two fields.
+ */
+@Component
+public class AdmissionControl {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControl.class);
+
+    private final ActiveGameStore activeGames;
+    private final int maxActiveGames;
+    private final double maxHeapUsed;
+    private final long retryAfterSeconds;
+    private final long heapCheckIntervalMillis;
+    private final List<MemoryPoolMXBean> collectedPools;
+    private final Counter rejected;
+    private volatile double heapUsedAfterGc;
+    private volatile boolean heapPressure;
+    private final ScheduledExecutorService heapMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "admission-heap-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AdmissionControl(ActiveGameStore activeGames,
+                            MetricsRegistry metrics,
+                            @Value("${dicegame.admission.max-active-games:90000}") int maxActiveGames,
+                            @Value("${dicegame.admission.max-heap-used:0.85}") double maxHeapUsed,
+                            @Value("${dicegame.admission.retry-after-seconds:5}") long retryAfterSeconds,
+                            @Value("${dicegame.admission.heap-check-interval-ms:1000}") long heapCheckIntervalMillis) {
+        this.activeGames = activeGames;
+        this.maxActiveGames = maxActiveGames;
+        this.maxHeapUsed = maxHeapUsed;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.heapCheckIntervalMillis = heapCheckIntervalMillis;
+        // Pools that report their occupancy after a collection, i.e. without garbage in it
+        this.collectedPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported())
+            .toList();
+        this.rejected = metrics.counter("dicegame_requests_rejected_total", "Requests refused with 429", "reason", "overload");
+        metrics.gauge("dicegame_heap_used_after_gc_ratio", "Largest heap pool occupancy after its last collection",
+            () -> heapUsedAfterGc);
+    }
+
+    @PostConstruct
+    public void start() {
+        heapMonitor.scheduleWithFixedDelay(this::sampleHeap, 0, heapCheckIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Throws {@link OverloadedException} if a new game should not be started now. */
+    public void checkNewGame() {
+        if (heapPressure) {
+            rejected.increment();
+            throw new OverloadedException("Server is low on memory", retryAfterSeconds);
+        }
+        if (activeGames.size() >= maxActiveGames) {
+            rejected.increment();
+            throw new OverloadedException("Server has too many active games", retryAfterSeconds);
+        }
+    }
+
+    private void sampleHeap() {
+        double used = 0;
+        for (MemoryPoolMXBean pool : collectedPools) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            long max = usage.getMax() > 0 ? usage.getMax() : Runtime.getRuntime().maxMemory();
+            used = Math.max(used, (double) usage.getUsed() / max);
+        }
+        boolean pressure = used > maxHeapUsed;
+        if (pressure != heapPressure) {
+            if (pressure) {
+                log.warn("Heap {}% full after GC; refusing new games", Math.round(used * 100));
+            } else {
+                log.info("Heap {}% full after GC; accepting new games again", Math.round(used * 100));
+            }
+        }
+        heapUsedAfterGc = used;
+        heapPressure = pressure;
+    }
+
+    @PreDestroy
+    public void stop() {
+        heapMonitor.shutdownNow();
+    }
+}
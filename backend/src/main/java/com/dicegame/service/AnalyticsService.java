@@ -0,0 +1,284 @@
+package com.dicegame.service;
+
+import com.dicegame.dto.ScoreDistributionDto;
+import com.dicegame.dto.HourlyLoadDto;
+import com.dicegame.dto.RoundStatsDto;
+import com.dicegame.dto.WinRateDto;
+import com.dicegame.model.DiceRules;
+import com.dicegame.model.GameEngine;
+import com.dicegame.model.ScoringRule;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.function.BinaryOperator;
+
+import static com.dicegame.service.ColumnarSegment.Column;
+import static com.dicegame.service.ColumnarSegment.PackedColumn;
+
+/**
+ * Aggregates over the columnar game history. Each query scans every segment that
+ * overlaps the requested start-time range on a dedicated fork-join pool, reading
+ * only the columns it needs from the mapped files, and merges the per-segment
+ * partial results. Nothing goes through JPA.
+ */
+@Service
+public class AnalyticsService {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    private final GameHistoryArchive history;
+    private final ForkJoinPool pool;
+
+    public AnalyticsService(GameHistoryArchive history,
+                            @Value("${dicegame.analytics.parallelism:0}") int parallelism) {
+        this.history = history;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+            forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("analytics-worker-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+    }
+
+    /** Score counts per dice rules, for games started in [from, to); either bound may be null. */
+    public List<ScoreDistributionDto> getScoreDistribution(Long from, Long to) {
+        Map<DiceRules, long[]> counts = scan(from, to, (segment, range) -> {
+            Map<DiceRules, long[]> partial = new HashMap<>();
+            PackedColumn players = segment.column(Column.PLAYERS);
+            PackedColumn rules = segment.column(Column.RULES);
+            PackedColumn rounds = segment.column(Column.ROUNDS);
+            PackedColumn values = segment.column(Column.THROW_SCORES);
+            long roll = 0;
+            for (int game = 0; game < segment.getGames(); game++) {
+                long rolls = (long) players.getInt(game) * rounds.getInt(game);
+                if (range.includes(game)) {
+                    DiceRules gameRules = segment.getRules(rules.getInt(game));
+                    long[] scores = partial.get(gameRules);
+                    if (scores == null) {
+                        scores = new long[initialScores(gameRules)];
+                    }
+                    for (long i = roll; i < roll + rolls; i++) {
+                        int score = values.getInt(i);
+                        if (score >= scores.length) {
+                            scores = Arrays.copyOf(scores, Math.max(score + 1, scores.length * 2));
+                        }
+                        scores[score]++;
+                    }
+                    partial.put(gameRules, scores);
+                }
+                roll += rolls;
+            }
+            return partial;
+        }, (a, b) -> {
+            b.forEach((rules, scores) -> a.merge(rules, scores, AnalyticsService::add));
+            return a;
+        }, new HashMap<>());
+
+        List<ScoreDistributionDto> result = new ArrayList<>();
+        counts.forEach((rules, scores) -> {
+            Map<Integer, Long> nonZero = new TreeMap<>();
+            long total = 0;
+            for (int score = 0; score < scores.length; score++) {
+                if (scores[score] > 0) {
+                    nonZero.put(score, scores[score]);
+                    total += scores[score];
+                }
+            }
+            result.add(new ScoreDistributionDto(rules.diceCount(), rules.faces(),
+                rules.scoring().name().toLowerCase(), total, nonZero));
+        });
+        result.sort((a, b) -> Long.compare(b.rolls(), a.rolls()));
+        return result;
+    }
+
+    public RoundStatsDto getRoundStats(Long from, Long to) {
+        // games, completed games, rounds, rounds of completed games, total duration
+        long[] totals = scan(from, to, (segment, range) -> {
+            long[] partial = new long[5];
+            PackedColumn complete = segment.column(Column.COMPLETE);
+            PackedColumn rounds = segment.column(Column.ROUNDS);
+            PackedColumn duration = segment.column(Column.DURATION);
+            for (int game = 0; game < segment.getGames(); game++) {
+                if (range.includes(game)) {
+                    long gameRounds = rounds.get(game);
+                    partial[0]++;
+                    partial[2] += gameRounds;
+                    partial[4] += duration.get(game);
+                    if (complete.get(game) != 0) {
+                        partial[1]++;
+                        partial[3] += gameRounds;
+                    }
+                }
+            }
+            return partial;
+        }, AnalyticsService::add, new long[5]);
+        return new RoundStatsDto(totals[0], totals[1], ratio(totals[2], totals[0]), ratio(totals[3], totals[1]),
+            ratio(totals[4], totals[0]));
+    }
+
+    /** Outcomes per game mode, for games played to the end. */
+    public List<WinRateDto> getWinRates(Long from, Long to) {
+        int modes = GameEngine.GameMode.values().length;
+        // Per mode: games, human wins, computer wins, draws
+        long[] totals = scan(from, to, (segment, range) -> {
+            long[] partial = new long[modes * 4];
+            PackedColumn mode = segment.column(Column.MODE);
+            PackedColumn complete = segment.column(Column.COMPLETE);
+            PackedColumn winner = segment.column(Column.WINNER);
+            PackedColumn winnerComputer = segment.column(Column.WINNER_COMPUTER);
+            for (int game = 0; game < segment.getGames(); game++) {
+                if (range.includes(game) && complete.get(game) != 0) {
+                    int offset = mode.getInt(game) * 4;
+                    partial[offset]++;
+                    if (winner.get(game) == 0) {
+                        partial[offset + 3]++;
+                    } else {
+                        partial[offset + (winnerComputer.get(game) != 0 ? 2 : 1)]++;
+                    }
+                }
+            }
+            return partial;
+        }, AnalyticsService::add, new long[modes * 4]);
+
+        List<WinRateDto> result = new ArrayList<>(modes);
+        for (GameEngine.GameMode mode : GameEngine.GameMode.values()) {
+            int offset = mode.ordinal() * 4;
+            long games = totals[offset];
+            result.add(new WinRateDto(mode.name().toLowerCase(), games, totals[offset + 1], totals[offset + 2],
+                totals[offset + 3], ratio(totals[offset + 1], games), ratio(totals[offset + 2], games),
+                ratio(totals[offset + 3], games)));
+        }
+        return result;
+    }
+
+    /** Games started per hour of the day in the given zone, with their average duration. */
+    public List<HourlyLoadDto> getHourlyLoad(Long from, Long to, ZoneId zone) {
+        ZoneRules zoneRules = zone.getRules();
+        // Per hour: games started, total duration
+        long[] totals = scan(from, to, (segment, range) -> {
+            long[] partial = new long[48];
+            PackedColumn start = segment.column(Column.START);
+            PackedColumn duration = segment.column(Column.DURATION);
+            // One offset for the whole segment unless it spans a daylight saving change
+            ZoneOffset first = zoneRules.getOffset(Instant.ofEpochMilli(segment.getMinStart()));
+            boolean fixed = first.equals(zoneRules.getOffset(Instant.ofEpochMilli(segment.getMaxStart())));
+            for (int game = 0; game < segment.getGames(); game++) {
+                if (range.includes(game)) {
+                    long millis = start.get(game);
+                    ZoneOffset offset = fixed ? first : zoneRules.getOffset(Instant.ofEpochMilli(millis));
+                    int hour = (int) (Math.floorMod(millis + offset.getTotalSeconds() * 1000L, DAY_MILLIS) / HOUR_MILLIS);
+                    partial[hour * 2]++;
+                    partial[hour * 2 + 1] += duration.get(game);
+                }
+            }
+            return partial;
+        }, AnalyticsService::add, new long[48]);
+
+        List<HourlyLoadDto> result = new ArrayList<>(24);
+        for (int hour = 0; hour < 24; hour++) {
+            result.add(new HourlyLoadDto(hour, totals[hour * 2], ratio(totals[hour * 2 + 1], totals[hour * 2])));
+        }
+        return result;
+    }
+
+    /** Per-segment query body; {@code range} says which of the segment's games were started in range. */
+    private interface SegmentScan<T> {
+        T apply(ColumnarSegment segment, StartRange range);
+    }
+
+    // Games of one segment started in [from, to); resolves to "all" without touching the column when it can
+    private static final class StartRange {
+        private final PackedColumn start;
+        private final long from;
+        private final long to;
+        private final boolean all;
+
+        StartRange(ColumnarSegment segment, long from, long to) {
+            this.start = segment.column(Column.START);
+            this.from = from;
+            this.to = to;
+            this.all = segment.getMinStart() >= from && segment.getMaxStart() < to;
+        }
+
+        boolean includes(int game) {
+            if (all) {
+                return true;
+            }
+            long millis = start.get(game);
+            return millis >= from && millis < to;
+        }
+    }
+
+    private <T> T scan(Long from, Long to, SegmentScan<T> body, BinaryOperator<T> merge, T empty) {
+        long lower = from != null ? from : Long.MIN_VALUE;
+        long upper = to != null ? to : Long.MAX_VALUE;
+        if (lower >= upper) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        List<Callable<T>> tasks = new ArrayList<>();
+        for (ColumnarSegment segment : history.getSegments()) {
+            if (segment.getMaxStart() >= lower && segment.getMinStart() < upper) {
+                tasks.add(() -> body.apply(segment, new StartRange(segment, lower, upper)));
+            }
+        }
+        T result = empty;
+        for (Future<T> partial : pool.invokeAll(tasks)) {
+            result = merge.apply(result, join(partial));
+        }
+        return result;
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning game history", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scanning game history failed", e.getCause());
+        }
+    }
+
+    // Room for every score of sum and highest rules; pattern scores can run higher and grow the array
+    private static int initialScores(DiceRules rules) {
+        return (rules.scoring() == ScoringRule.HIGHEST ? rules.faces() : rules.diceCount() * rules.faces()) + 1;
+    }
+
+    private static long[] add(long[] a, long[] b) {
+        if (b.length > a.length) {
+            long[] swap = a;
+            a = b;
+            b = swap;
+        }
+        for (int i = 0; i < b.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+
+    private static double ratio(long numerator, long denominator) {
+        return denominator > 0 ? (double) numerator / denominator : 0.0;
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,11 @@
+package com.dicegame.service;
+
+/** The audit job id is unknown, or the job was dropped to make room for newer ones. */
+public class AuditJobNotFoundException extends IllegalArgumentException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public AuditJobNotFoundException(String jobId) {
+        super("Audit job not found: " + jobId);
+    }
+}
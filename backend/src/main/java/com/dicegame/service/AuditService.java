@@ -0,0 +1,248 @@
+package com.dicegame.service;
+
+import com.dicegame.dto.AuditJobDto;
+import com.dicegame.dto.AuditMismatchDto;
+import com.dicegame.metrics.Counter;
+import com.dicegame.metrics.MetricsRegistry;
+import com.dicegame.model.GameReplay;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifies the game archive by replaying every record from its seed. One reader
+ * thread streams the archive segments from disk, one at a time, and hands batches
+ * of records to a dedicated fork-join pool; a bounded number of batches are in
+ * flight, so memory stays flat however large the archive is. One verification
+ * runs at a time.
+ */
+@Service
+public class AuditService {
+
+    private static final int BATCH_RECORDS = 1024;
+    private static final int MAX_MISMATCHES_KEPT = 100;
+    private static final int MAX_JOBS_KEPT = 16;
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private static final Logger log = LoggerFactory.getLogger(AuditService.class);
+
+    public enum Status { RUNNING, COMPLETE, FAILED }
+
+    private final GameArchive archive;
+    private final ForkJoinPool pool;
+    private final int maxBatchesInFlight;
+    private final ConcurrentHashMap<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicReference<Job> running = new AtomicReference<>();
+    private final Map<GameReplay.Result, Counter> verified = new EnumMap<>(GameReplay.Result.class);
+    private final Counter unreadable;
+
+    public AuditService(GameArchive archive,
+                        MetricsRegistry metrics,
+                        @Value("${dicegame.audit.parallelism:0}") int parallelism) {
+        this.archive = archive;
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(workers,
+            forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("audit-worker-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+        this.maxBatchesInFlight = 4 * workers;
+        for (GameReplay.Result result : GameReplay.Result.values()) {
+            verified.put(result, metrics.counter("dicegame_audit_games_total", "Archived games replayed by audits",
+                "result", result.name().toLowerCase()));
+        }
+        this.unreadable = metrics.counter("dicegame_audit_unreadable_total", "Archive records an audit could not decode");
+    }
+
+    /** Starts verifying everything archived so far and returns at once. */
+    public AuditJobDto startVerification() {
+        if (!archive.isEnabled()) {
+            throw new IllegalStateException("The game archive is disabled");
+        }
+        Job job = new Job(UUID.randomUUID().toString(), archive.getSegments());
+        if (!running.compareAndSet(null, job)) {
+            throw new OverloadedException("An audit is already running", RETRY_AFTER_SECONDS);
+        }
+        if (jobs.size() >= MAX_JOBS_KEPT) {
+            evictOldestFinished();
+        }
+        jobs.put(job.id, job);
+        Thread reader = new Thread(() -> run(job), "audit-reader");
+        reader.setDaemon(true);
+        reader.start();
+        return convertToAuditJobDto(job);
+    }
+
+    public AuditJobDto getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new AuditJobNotFoundException(jobId);
+        }
+        return convertToAuditJobDto(job);
+    }
+
+    private boolean evictOldestFinished() {
+        return jobs.values().stream()
+            .filter(j -> j.status != Status.RUNNING)
+            .min(Comparator.comparingLong(j -> j.startedNanos))
+            .map(j -> jobs.remove(j.id, j))
+            .orElse(false);
+    }
+
+    // Reader thread: streams segments and batches their records out to the pool
+    private void run(Job job) {
+        Semaphore inFlight = new Semaphore(maxBatchesInFlight);
+        Status status = Status.COMPLETE;
+        try {
+            for (Path segment : job.segments) {
+                List<byte[]> batch = new ArrayList<>(BATCH_RECORDS);
+                GameEventLog.readSegment(segment, (lsn, payload) -> {
+                    byte[] record = new byte[payload.remaining()];
+                    payload.get(record);
+                    batch.add(record);
+                    if (batch.size() == BATCH_RECORDS) {
+                        submit(job, new ArrayList<>(batch), inFlight);
+                        batch.clear();
+                    }
+                });
+                if (!batch.isEmpty()) {
+                    submit(job, batch, inFlight);
+                }
+                job.segmentsRead.incrementAndGet();
+            }
+        } catch (IOException | RuntimeException e) {
+            job.failure = e.toString();
+            status = Status.FAILED;
+        } finally {
+            // Wait for the batches still being verified
+            inFlight.acquireUninterruptibly(maxBatchesInFlight);
+            job.finishedNanos = System.nanoTime();
+            job.status = status;
+            running.set(null);
+        }
+        log.info("Audit {} {}: {} games, {} mismatched, {} unverifiable, {} unreadable in {} ms", job.id,
+            job.status.name().toLowerCase(), job.gamesRead(), job.count(GameReplay.Result.MISMATCH),
+            job.count(GameReplay.Result.UNVERIFIABLE), job.unreadable.sum(),
+            TimeUnit.NANOSECONDS.toMillis(job.elapsedNanos()));
+    }
+
+    private void submit(Job job, List<byte[]> batch, Semaphore inFlight) {
+        inFlight.acquireUninterruptibly();
+        try {
+            pool.execute(() -> {
+                try {
+                    for (byte[] record : batch) {
+                        verify(job, record);
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void verify(Job job, byte[] record) {
+        GameReplay.Verdict verdict;
+        try {
+            verdict = GameReplay.verify(new DataInputStream(new ByteArrayInputStream(record)));
+        } catch (IOException | RuntimeException e) {
+            job.unreadable.increment();
+            unreadable.increment();
+            return;
+        }
+        job.results.get(verdict.result()).increment();
+        verified.get(verdict.result()).increment();
+        if (verdict.result() == GameReplay.Result.MISMATCH && job.mismatchesKept.getAndIncrement() < MAX_MISMATCHES_KEPT) {
+            job.mismatches.add(new AuditMismatchDto(verdict.gameId(), verdict.detail()));
+        }
+    }
+
+    private AuditJobDto convertToAuditJobDto(Job job) {
+        long elapsedNanos = job.elapsedNanos();
+        long gamesRead = job.gamesRead();
+        return new AuditJobDto(
+            job.id,
+            job.status.name().toLowerCase(),
+            job.segments.size(),
+            job.segmentsRead.get(),
+            gamesRead,
+            job.count(GameReplay.Result.MATCH),
+            job.count(GameReplay.Result.MISMATCH),
+            job.count(GameReplay.Result.UNVERIFIABLE),
+            job.unreadable.sum(),
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            elapsedNanos > 0 ? gamesRead * 1e9 / elapsedNanos : 0.0,
+            List.copyOf(job.mismatches),
+            job.failure
+        );
+    }
+
+    private static final class Job {
+        final String id;
+        final List<Path> segments;
+        final long startedNanos = System.nanoTime();
+        final AtomicInteger segmentsRead = new AtomicInteger();
+        final Map<GameReplay.Result, LongAdder> results = new EnumMap<>(GameReplay.Result.class);
+        final LongAdder unreadable = new LongAdder();
+        final AtomicInteger mismatchesKept = new AtomicInteger();
+        final ConcurrentLinkedQueue<AuditMismatchDto> mismatches = new ConcurrentLinkedQueue<>();
+        volatile Status status = Status.RUNNING;
+        volatile long finishedNanos;
+        volatile String failure;
+
+        Job(String id, List<Path> segments) {
+            this.id = id;
+            this.segments = segments;
+            for (GameReplay.Result result : GameReplay.Result.values()) {
+                results.put(result, new LongAdder());
+            }
+        }
+
+        long count(GameReplay.Result result) {
+            return results.get(result).sum();
+        }
+
+        long gamesRead() {
+            long total = unreadable.sum();
+            for (LongAdder count : results.values()) {
+                total += count.sum();
+            }
+            return total;
+        }
+
+        long elapsedNanos() {
+            return (status == Status.RUNNING ? System.nanoTime() : finishedNanos) - startedNanos;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+}
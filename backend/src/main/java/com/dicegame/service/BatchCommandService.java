@@ -0,0 +1,196 @@
+package com.dicegame.service;
+
+import com.dicegame.dto.BatchCommand;
+import com.dicegame.dto.BatchResult;
+import com.dicegame.dto.GameStateDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Runs many game commands from one request. Commands are queued on their games'
+ * stripes as soon as they are read, without waiting for earlier results, so each
+ * game sees its commands in batch order while different games run in parallel.
+ */
+@Service
+public class BatchCommandService {
+    
+    @Autowired
+    private GameService gameService;
+    
+    @Autowired
+    private ClusterMembership cluster;
+    
+    @Autowired
+    private RateLimiter rateLimiter;
+    
+    @Value("${dicegame.batch.max-commands:10000}")
+    private int maxCommands;
+    
+    /**
+     * Opens a batch for {@code client}, whose start and game rate limits every command
+     * is charged against, as if sent on its own. A null client is not limited.
+     */
+    public Batch open(String client) {
+        return new Batch(client);
+    }
+    
+    public List<BatchResult> execute(List<BatchCommand> commands, String client) {
+        if (commands.size() > maxCommands) {
+            throw new IllegalArgumentException("A batch holds at most " + maxCommands + " commands");
+        }
+        Batch batch = open(client);
+        commands.forEach(batch::submit);
+        return batch.join();
+    }
+    
+    /** Commands of one request, in the order they were submitted. Not thread-safe. */
+    public class Batch {
+        
+        private final String client;
+        // Client aliases for games started earlier in this batch
+        private final Map<String, String> refs = new HashMap<>();
+        private final List<CompletableFuture<BatchResult>> results = new ArrayList<>();
+        
+        Batch(String client) {
+            this.client = client;
+        }
+        
+        /** Queues a command; returns false once the batch is full and the command was rejected. */
+        public boolean submit(BatchCommand command) {
+            BatchResult result = new BatchResult(results.size(), command);
+            if (results.size() >= maxCommands) {
+                results.add(CompletableFuture.completedFuture(fail(result, BatchResult.ErrorCode.BATCH_LIMIT,
+                    "A batch holds at most " + maxCommands + " commands")));
+                return false;
+            }
+            
+            CompletableFuture<?> pending;
+            try {
+                pending = dispatch(command, result);
+            } catch (RuntimeException e) {
+                pending = CompletableFuture.failedFuture(e);
+            }
+            results.add(pending.handle((value, error) -> {
+                if (error != null) {
+                    return fail(result, error);
+                }
+                result.setOk(true);
+                result.setResult(value);
+                return result;
+            }));
+            return true;
+        }
+        
+        /** Records a command that could not be read, e.g. a malformed NDJSON line. */
+        public void reject(String message) {
+            BatchResult result = new BatchResult(results.size(), new BatchCommand());
+            results.add(CompletableFuture.completedFuture(
+                fail(result, BatchResult.ErrorCode.INVALID_COMMAND, message)));
+        }
+        
+        public List<CompletableFuture<BatchResult>> getResults() {
+            return results;
+        }
+        
+        public List<BatchResult> join() {
+            List<BatchResult> joined = new ArrayList<>(results.size());
+            for (CompletableFuture<BatchResult> result : results) {
+                joined.add(result.join());
+            }
+            return joined;
+        }
+        
+        private CompletableFuture<?> dispatch(BatchCommand command, BatchResult result) {
+            String op = command.getOp();
+            if ("start".equals(op)) {
+                if (client != null) {
+                    rateLimiter.acquire(RateLimiter.Scope.CLIENT_START, client);
+                }
+                // Starting is cheap and synchronous, which lets later commands resolve the alias
+                GameStateDto state = gameService.startGame(command.toStartGameRequest());
+                if (command.getRef() != null) {
+                    refs.put(command.getRef(), state.gameId());
+                }
+                result.setGameId(state.gameId());
+                return CompletableFuture.completedFuture(state);
+            }
+            
+            String gameId = resolveGameId(command);
+            result.setGameId(gameId);
+            if (!cluster.servesLocally(gameId)) {
+                // Batches are not split across nodes; the client resends these to the owner
+                throw new WrongNodeException("Game is hosted on " + cluster.ownerOf(gameId));
+            }
+            if (client != null) {
+                rateLimiter.acquire(RateLimiter.Scope.GAME, gameId);
+            }
+            if ("roll".equals(op)) {
+                return gameService.rollDiceAsync(gameId, command.getPlayerName());
+            } else if ("next-round".equals(op)) {
+                return gameService.nextRoundAsync(gameId);
+            } else if ("end".equals(op)) {
+                return gameService.endGameAsync(gameId);
+            }
+            throw new IllegalArgumentException("Unknown op: " + op);
+        }
+        
+        private String resolveGameId(BatchCommand command) {
+            if (command.getGameId() != null) {
+                return command.getGameId();
+            }
+            if (command.getRef() == null) {
+                throw new IllegalArgumentException("Command needs a gameId or ref");
+            }
+            String gameId = refs.get(command.getRef());
+            if (gameId == null) {
+                throw new IllegalArgumentException("No game started with ref: " + command.getRef());
+            }
+            return gameId;
+        }
+    }
+    
+    private static BatchResult fail(BatchResult result, Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        BatchResult.ErrorCode code;
+        if (error instanceof WrongNodeException) {
+            code = BatchResult.ErrorCode.WRONG_NODE;
+        } else if (error instanceof OverloadedException) {
+            code = BatchResult.ErrorCode.OVERLOADED;
+        } else if (error instanceof RateLimitedException) {
+            code = BatchResult.ErrorCode.RATE_LIMITED;
+        } else if (error instanceof GameNotFoundException) {
+            code = BatchResult.ErrorCode.GAME_NOT_FOUND;
+        } else if (error instanceof IllegalStateException) {
+            code = BatchResult.ErrorCode.INVALID_STATE;
+        } else if (error instanceof IllegalArgumentException) {
+            code = BatchResult.ErrorCode.INVALID_COMMAND;
+        } else {
+            code = BatchResult.ErrorCode.INTERNAL_ERROR;
+        }
+        return fail(result, code, error.getMessage());
+    }
+    
+    private static BatchResult fail(BatchResult result, BatchResult.ErrorCode code, String message) {
+        result.setOk(false);
+        result.setError(new BatchResult.Error(code, message));
+        return result;
+    }
+    
+    private static class WrongNodeException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+        
+        WrongNodeException(String message) {
+            super(message);
+        }
+    }
+}
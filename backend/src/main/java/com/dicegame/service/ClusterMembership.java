@@ -0,0 +1,126 @@
+package com.dicegame.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Which node owns which game. Members are identified by their base URL; game ids
+ * are placed on a {@link HashRing} of those URLs. With clustering off this node
+ * owns every game. Node-to-node and operator requests prove themselves with the
+ * shared {@code dicegame.cluster.secret}, which clustering requires.
+ */
+@Component
+public class ClusterMembership {
+    
+    private final boolean enabled;
+    private final String self;
+    private final String secret;
+    private final int virtualNodes;
+    private final ActiveGameStore activeGames;
+    private volatile HashRing ring;
+    
+    public ClusterMembership(ActiveGameStore activeGames,
+                             @Value("${dicegame.cluster.enabled:false}") boolean enabled,
+                             @Value("${dicegame.cluster.self:http://localhost:${server.port:8080}}") String self,
+                             @Value("${dicegame.cluster.members:}") String members,
+                             @Value("${dicegame.cluster.secret:}") String secret,
+                             @Value("${dicegame.cluster.virtual-nodes:128}") int virtualNodes) {
+        this.activeGames = activeGames;
+        this.enabled = enabled;
+        this.self = normalize(self);
+        if (enabled && secret.isBlank()) {
+            throw new IllegalStateException("dicegame.cluster.secret must be set when clustering is enabled");
+        }
+        this.secret = secret;
+        this.virtualNodes = virtualNodes;
+        this.ring = new HashRing(withSelf(Arrays.asList(members.split(","))), virtualNodes);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public String getSelf() {
+        return self;
+    }
+    
+    /** Sent with every request to another member. */
+    public String getSecret() {
+        return secret;
+    }
+    
+    /**
+     * Whether a request carrying {@code presented} in the secret header came from a
+     * member or an operator. Never true with clustering off.
+     */
+    public boolean isTrusted(String presented) {
+        return enabled && presented != null
+            && MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public List<String> getMembers() {
+        return ring.getMembers();
+    }
+    
+    public String ownerOf(String gameId) {
+        return enabled ? ring.ownerOf(gameId) : self;
+    }
+    
+    public boolean isOwner(String gameId) {
+        return ownerOf(gameId).equals(self);
+    }
+    
+    /**
+     * Whether requests for the game are handled here: this node owns it, or still
+     * holds it because a handoff has not finished or failed.
+     */
+    public boolean servesLocally(String gameId) {
+        return isOwner(gameId) || activeGames.contains(gameId);
+    }
+    
+    /**
+     * Replaces the member list and returns the previous one. A list without this node
+     * drains it: it then owns no games and hands all of them off.
+     */
+    public synchronized List<String> setMembers(Collection<String> members) {
+        List<String> previous = ring.getMembers();
+        ring = new HashRing(normalizeAll(members), virtualNodes);
+        return previous;
+    }
+    
+    public boolean isMember() {
+        return ring.getMembers().contains(self);
+    }
+    
+    private List<String> withSelf(Collection<String> members) {
+        List<String> withSelf = new ArrayList<>(members);
+        withSelf.add(self);
+        return normalizeAll(withSelf);
+    }
+    
+    private static List<String> normalizeAll(Collection<String> members) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String member : members) {
+            if (!member.isBlank()) {
+                normalized.add(normalize(member));
+            }
+        }
+        List<String> sorted = new ArrayList<>(normalized);
+        sorted.sort(null);
+        return sorted;
+    }
+    
+    static String normalize(String member) {
+        String trimmed = member.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,275 @@
+package com.dicegame.service;
+
+import com.dicegame.model.DiceRules;
+import com.dicegame.model.GameEngine;
+import com.dicegame.model.Player;
+import com.dicegame.model.ScoringRule;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One immutable file of the game history archive, holding a block of ended games
+ * column by column. Every column is frame-of-reference bit-packed: the column
+ * minimum is stored once and each value as its offset from it, in as many bits as
+ * the largest offset needs. A one-die throw score takes 3 bits, a round winner of
+ * a two-player game 2, and a start time its offset within the block. Throw scores
+ * and round winners are flattened game by game; the players and rounds columns say
+ * how many belong to each game. Only the score of each throw is kept, not its faces.
+ * <p>
+ * The file is mapped read-only once opened, and queries read only the columns
+ * they need.
+ */
+public final class ColumnarSegment {
+
+    /** Column order in the file. */
+    public enum Column {
+        MODE, PLAYERS, RULES, COMPLETE, WINNER, WINNER_COMPUTER, ROUNDS, START, DURATION, THROW_SCORES, ROUND_WINNERS
+    }
+
+    private static final int MAGIC = 0x44474341; // "DGCA"
+    // Version 1 stored the rules count in a byte
+    private static final int VERSION = 2;
+    private static final int MAX_RULES = 0xffff;
+
+    private final Path file;
+    private final long firstGame;
+    private final int games;
+    private final long minStart;
+    private final long maxStart;
+    private final DiceRules[] rules;
+    private final PackedColumn[] columns = new PackedColumn[Column.values().length];
+
+    private ColumnarSegment(Path file, long firstGame, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.firstGame = firstGame;
+        int version = buffer.getInt() == MAGIC ? buffer.get() : -1;
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Not a game history segment: " + file);
+        }
+        this.games = buffer.getInt();
+        this.minStart = buffer.getLong();
+        this.maxStart = buffer.getLong();
+        this.rules = new DiceRules[version == 1 ? buffer.get() & 0xff : buffer.getShort() & 0xffff];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = new DiceRules(buffer.get() & 0xff, buffer.get() & 0xff, ScoringRule.values()[buffer.get()]);
+        }
+        for (Column column : Column.values()) {
+            int width = buffer.get() & 0xff;
+            long base = buffer.getLong();
+            int words = buffer.getInt();
+            columns[column.ordinal()] = new PackedColumn(buffer, buffer.position(), width, base);
+            buffer.position(buffer.position() + words * Long.BYTES);
+        }
+    }
+
+    /** Maps an existing segment file. {@code firstGame} is the archive-wide number of its first game. */
+    public static ColumnarSegment open(Path file, long firstGame) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ColumnarSegment(file, firstGame, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public Path getFile() { return file; }
+
+    public long getFirstGame() { return firstGame; }
+
+    public int getGames() { return games; }
+
+    public long getMinStart() { return minStart; }
+
+    public long getMaxStart() { return maxStart; }
+
+    public DiceRules getRules(int index) { return rules[index]; }
+
+    public PackedColumn column(Column column) {
+        return columns[column.ordinal()];
+    }
+
+    /** Random access to one bit-packed column of a mapped segment. */
+    public static final class PackedColumn {
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int width;
+        private final long base;
+        private final long mask;
+
+        PackedColumn(ByteBuffer buffer, int offset, int width, long base) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.width = width;
+            this.base = base;
+            this.mask = width == 64 ? -1L : (1L << width) - 1;
+        }
+
+        public long get(long index) {
+            if (width == 0) {
+                return base;
+            }
+            long bit = index * width;
+            int word = offset + (int) (bit >>> 6) * Long.BYTES;
+            int shift = (int) (bit & 63);
+            long value = buffer.getLong(word) >>> shift;
+            if (shift + width > 64) {
+                value |= buffer.getLong(word + Long.BYTES) << (64 - shift);
+            }
+            return base + (value & mask);
+        }
+
+        public int getInt(long index) {
+            return (int) get(index);
+        }
+    }
+
+    /**
+     * Collects ended games in memory until they are written out as a segment. Not
+     * thread-safe; the archive guards it.
+     */
+    public static final class Builder {
+        private final LongColumn[] values = new LongColumn[Column.values().length];
+        private final List<DiceRules> rules = new ArrayList<>();
+        private int games;
+
+        public Builder() {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = new LongColumn();
+            }
+        }
+
+        public void add(GameEngine game, long startMillis, long endMillis) {
+            List<Player> players = game.getPlayers();
+            Player winner = game.getGameWinner();
+            int ruleIndex = rules.indexOf(game.getRules());
+            if (ruleIndex < 0) {
+                if (rules.size() == MAX_RULES) {
+                    throw new IllegalStateException("A history block holds at most " + MAX_RULES + " dice rules");
+                }
+                ruleIndex = rules.size();
+                rules.add(game.getRules());
+            }
+            values(Column.MODE).add(game.getMode().ordinal());
+            values(Column.PLAYERS).add(players.size());
+            values(Column.RULES).add(ruleIndex);
+            values(Column.COMPLETE).add(game.isGameComplete() ? 1 : 0);
+            // Slots are stored one up so that 0 can mean a draw
+            values(Column.WINNER).add(winner != null ? players.indexOf(winner) + 1 : 0);
+            values(Column.WINNER_COMPUTER).add(winner != null && winner.isComputer() ? 1 : 0);
+            values(Column.ROUNDS).add(game.getCompletedRounds());
+            values(Column.START).add(startMillis);
+            values(Column.DURATION).add(Math.max(0, endMillis - startMillis));
+            for (int round = 0; round < game.getCompletedRounds(); round++) {
+                for (int slot = 0; slot < players.size(); slot++) {
+                    values(Column.THROW_SCORES).add(game.getHistoryValue(round, slot));
+                }
+                values(Column.ROUND_WINNERS).add(game.getHistoryWinnerSlot(round) + 1);
+            }
+            games++;
+        }
+
+        public int getGames() { return games; }
+
+        public int getRolls() { return values(Column.THROW_SCORES).size; }
+
+        /** Writes the collected games to {@code file}, via a temporary file so readers never see a partial one. */
+        public void write(Path file) throws IOException {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                writeColumns(temp);
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        }
+
+        private void writeColumns(Path file) throws IOException {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+                LongColumn starts = values(Column.START);
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeInt(games);
+                out.writeLong(starts.min());
+                out.writeLong(starts.max());
+                out.writeShort(rules.size());
+                for (DiceRules rule : rules) {
+                    out.writeByte(rule.diceCount());
+                    out.writeByte(rule.faces());
+                    out.writeByte(rule.scoring().ordinal());
+                }
+                for (LongColumn column : values) {
+                    column.writePacked(out);
+                }
+            }
+        }
+
+        private LongColumn values(Column column) {
+            return values[column.ordinal()];
+        }
+    }
+
+    // Growable column of raw values while a block is being collected
+    private static final class LongColumn {
+        long[] values = new long[1024];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long min() {
+            long min = size == 0 ? 0 : Long.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                min = Math.min(min, values[i]);
+            }
+            return min;
+        }
+
+        long max() {
+            long max = size == 0 ? 0 : Long.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, values[i]);
+            }
+            return max;
+        }
+
+        // [width][base][word count][words], values stored least significant bit first
+        void writePacked(DataOutputStream out) throws IOException {
+            long base = min();
+            int width = 64 - Long.numberOfLeadingZeros(max() - base);
+            long[] words = new long[(int) (((long) size * width + 63) >>> 6)];
+            // A constant column is all base and needs no words
+            for (int i = 0; width > 0 && i < size; i++) {
+                long value = values[i] - base;
+                long bit = (long) i * width;
+                int word = (int) (bit >>> 6);
+                int shift = (int) (bit & 63);
+                words[word] |= value << shift;
+                if (shift + width > 64) {
+                    words[word + 1] |= value >>> (64 - shift);
+                }
+            }
+            out.writeByte(width);
+            out.writeLong(base);
+            out.writeInt(words.length);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+        }
+    }
+}
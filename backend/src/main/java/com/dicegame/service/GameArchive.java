@@ -0,0 +1,61 @@
+package com.dicegame.service;
+
+import com.dicegame.model.GameEngine;
+import com.dicegame.model.GameReplay;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Append-only archive of ended games as {@link GameReplay} audit records, kept in
+ * its own {@link GameEventLog} so the journal can keep trimming its segments.
+ * Nothing is read back at startup; the archive only grows, and is read by the
+ * audit verifier.
+ */
+@Component
+public class GameArchive {
+
+    private static final CompletableFuture<Void> NOT_ARCHIVED = CompletableFuture.completedFuture(null);
+
+    private final GameEventLog log;
+
+    public GameArchive(@Value("${dicegame.archive.enabled:true}") boolean enabled,
+                       @Value("${dicegame.archive.dir:data/archive}") String directory,
+                       @Value("${dicegame.archive.segment-bytes:67108864}") long segmentBytes,
+                       @Value("${dicegame.archive.fsync:true}") boolean fsync) {
+        this.log = new GameEventLog(enabled, directory, segmentBytes, fsync);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        log.open(0, null);
+    }
+
+    public boolean isEnabled() {
+        return log.isEnabled();
+    }
+
+    /** Appends the game's audit record; completes once it is on disk. Runs on the game's stripe. */
+    public CompletableFuture<Void> archive(GameEngine game) {
+        if (!log.isEnabled()) {
+            return NOT_ARCHIVED;
+        }
+        return log.whenDurable(log.append(out -> GameReplay.write(game, out)));
+    }
+
+    /** Archive segment files in the order they were written. */
+    public List<Path> getSegments() {
+        return log.getSegments();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        log.close();
+    }
+}
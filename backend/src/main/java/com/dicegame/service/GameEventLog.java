@@ -0,0 +1,495 @@
+package com.dicegame.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Segmented append-only log with group commit. Appends are encoded into an
+ * in-memory buffer under a short lock and given a log sequence number (LSN); a
+ * single writer thread swaps the buffer out, writes it to the current segment
+ * through a {@link FileChannel} and forces it, so one fsync covers every record
+ * appended while the previous one was in progress. Records are framed as
+ * {@code [payload length][CRC32C][LSN][payload]}, which lets recovery find and
+ * cut off a torn tail.
+ */
+@Component
+public class GameEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(GameEventLog.class);
+
+    /** Encodes one record's payload. */
+    public interface RecordWriter {
+        void write(DataOutput out) throws IOException;
+    }
+
+    /** Receives replayed records; the payload buffer is only valid during the call. */
+    public interface RecordHandler {
+        void accept(long lsn, ByteBuffer payload);
+    }
+
+    private static final int HEADER_BYTES = 16;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+    // Larger buffers are dropped after a burst instead of being kept for reuse
+    private static final int MAX_RETAINED_BUFFER_BYTES = 8 * 1024 * 1024;
+    private static final CompletableFuture<Void> DURABLE = CompletableFuture.completedFuture(null);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+
+    // First LSN of each segment; the last entry is the one being appended to
+    private final ConcurrentSkipListMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+
+    // Guards buffer bookkeeping only and is never held across I/O, so it cannot pin a virtual thread for long
+    private final Object lock = new Object();
+    private final RecordBuffer pending = new RecordBuffer(INITIAL_BUFFER_BYTES);
+    private final DataOutputStream pendingOut = new DataOutputStream(pending);
+    private final CRC32C crc = new CRC32C();
+    private long nextLsn = 1;
+    private long pendingFirstLsn = 1;
+    private CompletableFuture<Void> pendingDurable;
+    private long inFlightLastLsn;
+    private CompletableFuture<Void> inFlightDurable;
+    private volatile long durableLsn;
+    private boolean writerWaiting;
+    private boolean open;
+    private boolean closed;
+    private IOException failure;
+
+    // Writer thread only
+    private Thread writer;
+    private FileChannel channel;
+    private long segmentSize;
+
+    public GameEventLog(@Value("${dicegame.eventlog.enabled:true}") boolean enabled,
+                        @Value("${dicegame.eventlog.dir:data/eventlog}") String directory,
+                        @Value("${dicegame.eventlog.segment-bytes:67108864}") long segmentBytes,
+                        @Value("${dicegame.eventlog.fsync:true}") boolean fsync) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        // Segments are mapped whole during recovery, which caps them below 2 GiB
+        this.segmentBytes = Math.min(segmentBytes, Integer.MAX_VALUE / 2);
+        this.fsync = fsync;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Replays every intact record with an LSN of at least {@code fromLsn}, cuts off a
+     * torn tail, and starts accepting appends. Called once at startup. With a null
+     * handler nothing is replayed and only the last segment is read, to find where
+     * appends continue.
+     */
+    public void open(long fromLsn, RecordHandler handler) throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Long firstLsn = parseSegmentLsn(file.getFileName().toString());
+                if (firstLsn != null) {
+                    segments.put(firstLsn, file);
+                }
+            });
+        }
+
+        long lastLsn = 0;
+        for (Iterator<Map.Entry<Long, Path>> it = segments.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Long, Path> segment = it.next();
+            if (handler == null && it.hasNext()) {
+                continue;
+            }
+            lastLsn = replaySegment(segment.getValue(), segment.getKey(), fromLsn, handler, !it.hasNext());
+        }
+
+        synchronized (lock) {
+            nextLsn = Math.max(lastLsn + 1, Math.max(fromLsn, 1));
+            pendingFirstLsn = nextLsn;
+            durableLsn = nextLsn - 1;
+            open = true;
+        }
+        if (!segments.isEmpty()) {
+            Path last = segments.lastEntry().getValue();
+            channel = FileChannel.open(last, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            segmentSize = channel.size();
+        }
+        writer = new Thread(this::run, "game-event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Returns the last LSN read from the segment
+    private long replaySegment(Path file, long firstLsn, long fromLsn, RecordHandler handler, boolean last) throws IOException {
+        long expectedLsn;
+        int validBytes;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            expectedLsn = scan(buffer, firstLsn, fromLsn, handler);
+            validBytes = buffer.position();
+            if (validBytes < buffer.limit()) {
+                if (!last) {
+                    throw new IOException("Event log segment " + file + " is corrupt at offset " + validBytes);
+                }
+                log.warn("Truncating torn tail of {} at offset {} ({} bytes)", file, validBytes, buffer.limit() - validBytes);
+            }
+        }
+        if (last) {
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                if (out.size() > validBytes) {
+                    out.truncate(validBytes);
+                    out.force(true);
+                }
+            }
+        }
+        return expectedLsn - 1;
+    }
+
+    // Hands intact records at or after fromLsn to the handler, if any, and leaves the buffer
+    // positioned after the last intact record. Returns the LSN expected next.
+    private static long scan(ByteBuffer buffer, long firstLsn, long fromLsn, RecordHandler handler) {
+        long expectedLsn = firstLsn;
+        CRC32C check = new CRC32C();
+        while (true) {
+            int position = buffer.position();
+            if (buffer.remaining() < HEADER_BYTES) {
+                break;
+            }
+            int length = buffer.getInt(position);
+            int checksum = buffer.getInt(position + 4);
+            long lsn = buffer.getLong(position + 8);
+            if (length < 0 || length > buffer.remaining() - HEADER_BYTES || lsn != expectedLsn) {
+                break;
+            }
+            check.reset();
+            check.update(buffer.slice(position + 8, length + 8));
+            if ((int) check.getValue() != checksum) {
+                break;
+            }
+            if (handler != null && lsn >= fromLsn) {
+                handler.accept(lsn, buffer.slice(position + HEADER_BYTES, length));
+            }
+            buffer.position(position + HEADER_BYTES + length);
+            expectedLsn++;
+        }
+        return expectedLsn;
+    }
+
+    /** Segment files in LSN order. The last one may still be appended to. */
+    public List<Path> getSegments() {
+        return new ArrayList<>(segments.values());
+    }
+
+    /**
+     * Reads the intact records of one segment file, as of now, without touching the
+     * log's state, and returns how many there were. Reading stops at the first torn
+     * or corrupt record, which in the segment being appended to is usually a record
+     * still being written.
+     */
+    public static long readSegment(Path file, RecordHandler handler) throws IOException {
+        Long firstLsn = parseSegmentLsn(file.getFileName().toString());
+        if (firstLsn == null) {
+            throw new IOException("Not an event log segment: " + file);
+        }
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            return scan(buffer, firstLsn, firstLsn, handler) - firstLsn;
+        }
+    }
+
+    /**
+     * Appends a record and returns its LSN. The record is durable once
+     * {@link #whenDurable(long)} completes; the caller does not wait here.
+     */
+    public long append(RecordWriter record) {
+        synchronized (lock) {
+            if (!open || closed) {
+                throw new IllegalStateException("Event log is not open");
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Event log failed", failure);
+            }
+            long lsn = nextLsn;
+            int start = pending.size;
+            pending.skip(HEADER_BYTES);
+            try {
+                record.write(pendingOut);
+            } catch (IOException e) {
+                pending.size = start;
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                // A failing writer must not leave a partial record for the next append to frame
+                pending.size = start;
+                throw e;
+            }
+            int length = pending.size - start - HEADER_BYTES;
+            pending.putInt(start, length);
+            pending.putLong(start + 8, lsn);
+            crc.reset();
+            crc.update(pending.bytes, start + 8, length + 8);
+            pending.putInt(start + 4, (int) crc.getValue());
+            nextLsn++;
+            if (writerWaiting) {
+                lock.notify();
+            }
+            return lsn;
+        }
+    }
+
+    /** Completes once the record with the given LSN, and all before it, are on disk. */
+    public CompletableFuture<Void> whenDurable(long lsn) {
+        if (lsn <= durableLsn) {
+            return DURABLE;
+        }
+        synchronized (lock) {
+            if (failure != null) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Event log failed", failure));
+            }
+            if (lsn <= durableLsn) {
+                return DURABLE;
+            }
+            if (lsn <= inFlightLastLsn) {
+                if (inFlightDurable == null) {
+                    inFlightDurable = new CompletableFuture<>();
+                }
+                return inFlightDurable;
+            }
+            if (pendingDurable == null) {
+                pendingDurable = new CompletableFuture<>();
+            }
+            return pendingDurable;
+        }
+    }
+
+    /** LSN the next append will get. */
+    public long getNextLsn() {
+        synchronized (lock) {
+            return nextLsn;
+        }
+    }
+
+    /** Deletes segments that only hold records before the given LSN. */
+    public void deleteSegmentsBefore(long lsn) {
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            Long nextFirstLsn = segments.higherKey(segment.getKey());
+            if (nextFirstLsn == null || nextFirstLsn > lsn) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(segment.getValue());
+                segments.remove(segment.getKey());
+            } catch (IOException e) {
+                log.warn("Could not delete event log segment {}", segment.getValue(), e);
+                break;
+            }
+        }
+    }
+
+    private void run() {
+        byte[] spare = new byte[INITIAL_BUFFER_BYTES];
+        while (true) {
+            byte[] batch;
+            int length;
+            long firstLsn;
+            long lastLsn;
+            synchronized (lock) {
+                while (pending.size == 0 && !closed) {
+                    writerWaiting = true;
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } finally {
+                        writerWaiting = false;
+                    }
+                }
+                if (pending.size == 0) {
+                    return;
+                }
+                batch = pending.bytes;
+                length = pending.size;
+                firstLsn = pendingFirstLsn;
+                lastLsn = nextLsn - 1;
+                pending.bytes = spare;
+                pending.size = 0;
+                pendingFirstLsn = nextLsn;
+                inFlightLastLsn = lastLsn;
+                inFlightDurable = pendingDurable;
+                pendingDurable = null;
+            }
+
+            IOException error = null;
+            try {
+                write(batch, length, firstLsn);
+            } catch (IOException e) {
+                log.error("Writing event log records {}..{} failed; refusing further appends", firstLsn, lastLsn, e);
+                error = e;
+            }
+
+            CompletableFuture<Void> done;
+            synchronized (lock) {
+                if (error == null) {
+                    durableLsn = lastLsn;
+                } else {
+                    failure = error;
+                }
+                done = inFlightDurable;
+                inFlightDurable = null;
+            }
+            if (done != null) {
+                if (error == null) {
+                    done.complete(null);
+                } else {
+                    done.completeExceptionally(new IllegalStateException("Event log failed", error));
+                }
+            }
+            spare = batch.length <= MAX_RETAINED_BUFFER_BYTES ? batch : new byte[INITIAL_BUFFER_BYTES];
+            if (error != null) {
+                failPending(error);
+                return;
+            }
+        }
+    }
+
+    private void failPending(IOException error) {
+        CompletableFuture<Void> waiting;
+        synchronized (lock) {
+            waiting = pendingDurable;
+            pendingDurable = null;
+        }
+        if (waiting != null) {
+            waiting.completeExceptionally(new IllegalStateException("Event log failed", error));
+        }
+    }
+
+    private void write(byte[] batch, int length, long firstLsn) throws IOException {
+        if (channel == null || (segmentSize > 0 && segmentSize + length > segmentBytes)) {
+            rollSegment(firstLsn);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(batch, 0, length);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        segmentSize += length;
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    private void rollSegment(long firstLsn) throws IOException {
+        if (channel != null) {
+            channel.force(true);
+            channel.close();
+        }
+        Path file = directory.resolve(String.format("segment-%020d.log", firstLsn));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentSize = channel.size();
+        segments.put(firstLsn, file);
+    }
+
+    private static Long parseSegmentLsn(String fileName) {
+        if (!fileName.startsWith("segment-") || !fileName.endsWith(".log")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(fileName.substring("segment-".length(), fileName.length() - ".log".length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        synchronized (lock) {
+            closed = true;
+            lock.notify();
+        }
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (channel != null) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    // Growable byte array that records are encoded into
+    private static final class RecordBuffer extends OutputStream {
+        byte[] bytes;
+        int size;
+
+        RecordBuffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(len);
+            System.arraycopy(b, off, bytes, size, len);
+            size += len;
+        }
+
+        void skip(int count) {
+            ensureCapacity(count);
+            size += count;
+        }
+
+        void putInt(int index, int value) {
+            bytes[index] = (byte) (value >>> 24);
+            bytes[index + 1] = (byte) (value >>> 16);
+            bytes[index + 2] = (byte) (value >>> 8);
+            bytes[index + 3] = (byte) value;
+        }
+
+        void putLong(int index, long value) {
+            putInt(index, (int) (value >>> 32));
+            putInt(index + 4, (int) value);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.dicegame.service;
+
+import com.dicegame.dto.GameEventDto;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes game deltas to STOMP subscribers of /topic/game/{gameId}. Each event is
+ * converted to JSON once and the simple broker hands the same payload to every
+ * subscriber. Games nobody watches are skipped entirely, so unobserved games pay
+ * nothing for serialization.
+ */
+@Component
+public class GameEventPublisher {
+    
+    public static final String TOPIC_PREFIX = "/topic/game/";
+    
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ConcurrentHashMap<String, AtomicInteger> subscriberCounts = new ConcurrentHashMap<>();
+    // sessionId -> (subscriptionId -> gameId), to undo subscriptions on unsubscribe or disconnect
+    private final ConcurrentHashMap<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+    
+    public GameEventPublisher(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+    
+    public boolean hasSubscribers(String gameId) {
+        AtomicInteger count = subscriberCounts.get(gameId);
+        return count != null && count.get() > 0;
+    }
+    
+    public void publish(GameEventDto event) {
+        if (hasSubscribers(event.getGameId())) {
+            messagingTemplate.convertAndSend(TOPIC_PREFIX + event.getGameId(), event);
+        }
+    }
+    
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = headers.getDestination();
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return;
+        }
+        String gameId = destination.substring(TOPIC_PREFIX.length());
+        sessionSubscriptions.computeIfAbsent(headers.getSessionId(), id -> new ConcurrentHashMap<>())
+            .put(headers.getSubscriptionId(), gameId);
+        subscriberCounts.computeIfAbsent(gameId, id -> new AtomicInteger()).incrementAndGet();
+    }
+    
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = sessionSubscriptions.get(headers.getSessionId());
+        if (subscriptions != null) {
+            String gameId = subscriptions.remove(headers.getSubscriptionId());
+            if (gameId != null) {
+                release(gameId);
+            }
+        }
+    }
+    
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+    
+    private void release(String gameId) {
+        subscriberCounts.computeIfPresent(gameId, (id, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+}
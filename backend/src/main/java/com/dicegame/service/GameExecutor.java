@@ -0,0 +1,86 @@
+package com.dicegame.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs game commands on a fixed set of single-threaded stripes. Every game is
+ * pinned to one stripe by its id, so commands for the same game execute one at
+ * a time in submission order while different games proceed in parallel.
+ * The stripes stay platform threads when requests run on virtual threads: the
+ * commands are short and CPU bound, and confinement means {@code GameEngine}
+ * needs no lock, so callers park on a future rather than pinning on a monitor.
+ */
+@Component
+public class GameExecutor {
+
+    private final ExecutorService[] stripes;
+
+    public GameExecutor(@Value("${dicegame.executor.stripes:0}") int stripeCount) {
+        int count = stripeCount > 0 ? stripeCount : Runtime.getRuntime().availableProcessors();
+        this.stripes = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = Executors.newSingleThreadExecutor(threadFactory(i));
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(String gameId, Supplier<T> command) {
+        return CompletableFuture.supplyAsync(command, stripeFor(gameId));
+    }
+
+    public <T> T execute(String gameId, Supplier<T> command) {
+        return join(submit(gameId, command));
+    }
+
+    /** Waits for a submitted command, rethrowing its failure unwrapped. */
+    public static <T> T join(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            // Surface the engine's own exception so callers see the same errors as before
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    private ExecutorService stripeFor(String gameId) {
+        int h = gameId.hashCode();
+        h ^= (h >>> 16);
+        return stripes[(h & 0x7fffffff) % stripes.length];
+    }
+
+    private static ThreadFactory threadFactory(int stripe) {
+        AtomicInteger created = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "game-stripe-" + stripe + "-" + created.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+        for (ExecutorService stripe : stripes) {
+            stripe.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.dicegame.service;
+
+import com.dicegame.dto.ClusterStateDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves games between nodes when membership changes. After the ring is replaced,
+ * every game this node no longer owns is detached, sent to its new owner and
+ * dropped here once the owner has it; if the transfer fails the game is put back
+ * and keeps being served here.
+ */
+@Service
+public class GameHandoff {
+    
+    private static final Logger log = LoggerFactory.getLogger(GameHandoff.class);
+    
+    /** Marks requests one node sent another, so they are never routed again. */
+    public static final String FORWARDED_HEADER = "X-Dicegame-Forwarded";
+    /** Carries the cluster secret; requests without it are treated as coming from clients. */
+    public static final String SECRET_HEADER = "X-Dicegame-Cluster-Secret";
+    
+    @Autowired
+    private ClusterMembership cluster;
+    
+    @Autowired
+    private GameService gameService;
+    
+    @Autowired
+    private ActiveGameStore activeGames;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-handoff");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final AtomicLong handedOff = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    
+    /**
+     * Applies a new member list and starts handing off games in the background.
+     * Unless the change came from a peer, it is also sent to every old and new member.
+     */
+    public ClusterStateDto updateMembers(List<String> members, boolean propagate) {
+        List<String> previous = cluster.setMembers(members);
+        if (propagate) {
+            Set<String> peers = new LinkedHashSet<>(previous);
+            peers.addAll(cluster.getMembers());
+            peers.remove(cluster.getSelf());
+            for (String peer : peers) {
+                sendMembers(peer, cluster.getMembers());
+            }
+        }
+        worker.execute(this::rebalance);
+        return getState();
+    }
+    
+    private void sendMembers(String peer, List<String> members) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(peer + "/api/cluster/members"))
+                .timeout(Duration.ofSeconds(5))
+                .header("Content-Type", "application/json")
+                .header(FORWARDED_HEADER, cluster.getSelf())
+                .header(SECRET_HEADER, cluster.getSecret())
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(members)))
+                .build();
+            http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (error != null || response.statusCode() / 100 != 2) {
+                    log.warn("Could not send membership to {}: {}", peer,
+                        error != null ? error.toString() : "HTTP " + response.statusCode());
+                }
+            });
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /** Hands off every game held here that another node now owns. */
+    public void rebalance() {
+        for (ActiveGame active : new ArrayList<>(activeGames.values())) {
+            String owner = cluster.ownerOf(active.getGameId());
+            if (!owner.equals(cluster.getSelf())) {
+                handOff(active, owner);
+            }
+        }
+    }
+    
+    private void handOff(ActiveGame active, String owner) {
+        byte[] state = gameService.detachGame(active);
+        if (state == null) {
+            return;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(owner + "/api/cluster/games"))
+                .timeout(Duration.ofSeconds(5))
+                .header("Content-Type", "application/octet-stream")
+                .header(FORWARDED_HEADER, cluster.getSelf())
+                .header(SECRET_HEADER, cluster.getSecret())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(state))
+                .build();
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 == 2) {
+                gameService.completeHandoff(active, owner);
+                handedOff.incrementAndGet();
+                return;
+            }
+            log.warn("Handing game {} to {} failed with HTTP {}", active.getGameId(), owner, response.statusCode());
+        } catch (IOException e) {
+            log.warn("Handing game {} to {} failed: {}", active.getGameId(), owner, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        gameService.abortHandoff(active);
+        failed.incrementAndGet();
+    }
+    
+    /** Takes over a game another node handed off. */
+    public void accept(byte[] state) throws IOException {
+        gameService.importGame(state);
+        received.incrementAndGet();
+    }
+    
+    public ClusterStateDto getState() {
+        ClusterStateDto state = new ClusterStateDto();
+        state.setEnabled(cluster.isEnabled());
+        state.setSelf(cluster.getSelf());
+        state.setMembers(cluster.getMembers());
+        state.setLocalGames(activeGames.size());
+        state.setGamesHandedOff(handedOff.get());
+        state.setGamesReceived(received.get());
+        state.setFailedHandoffs(failed.get());
+        return state;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+}
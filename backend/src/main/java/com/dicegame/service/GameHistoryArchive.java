@@ -0,0 +1,170 @@
+package com.dicegame.service;
+
+import com.dicegame.model.GameEngine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Columnar history of ended games, for analytics. Games are collected in memory
+ * and written out as a {@link ColumnarSegment} once a block is full or every
+ * flush interval, so the newest games show up in queries after at most one
+ * interval. Unlike the audit archive, unflushed games are lost if the process
+ * dies; this history is for statistics, not for disputes.
+ */
+@Component
+public class GameHistoryArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(GameHistoryArchive.class);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int blockGames;
+    private final int blockRolls;
+    private final long flushIntervalMillis;
+    private final CopyOnWriteArrayList<ColumnarSegment> segments = new CopyOnWriteArrayList<>();
+    // Guards builder and nextGame; a flush swaps the builder out and writes it after releasing the lock
+    private final Object lock = new Object();
+    private ColumnarSegment.Builder builder = new ColumnarSegment.Builder();
+    private long nextGame;
+    // Only one flush writes at a time, so segments are added in game order
+    private final Object flushLock = new Object();
+    private ScheduledExecutorService flusher;
+
+    public GameHistoryArchive(@Value("${dicegame.history.enabled:true}") boolean enabled,
+                              @Value("${dicegame.history.dir:data/history}") String directory,
+                              @Value("${dicegame.history.block-games:65536}") int blockGames,
+                              @Value("${dicegame.history.flush-interval-ms:10000}") long flushIntervalMillis) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.blockGames = blockGames;
+        // Keeps a block of big lobbies from holding too many rolls in memory
+        this.blockRolls = 16 * blockGames;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> parseFirstGame(file) != null).sorted().toList();
+        }
+        for (Path file : files) {
+            try {
+                ColumnarSegment segment = ColumnarSegment.open(file, parseFirstGame(file));
+                segments.add(segment);
+                nextGame = segment.getFirstGame() + segment.getGames();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Skipping unreadable game history segment {}: {}", file, e.getMessage());
+            }
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-history-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Adds an ended game. Runs on the game's stripe and only copies the game's columns. */
+    public void record(GameEngine game) {
+        if (!enabled) {
+            return;
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        long startMillis = game.getStartTime().atZone(zone).toInstant().toEpochMilli();
+        long endMillis = game.getEndTime() != null
+            ? game.getEndTime().atZone(zone).toInstant().toEpochMilli() : System.currentTimeMillis();
+        boolean full;
+        synchronized (lock) {
+            builder.add(game, startMillis, endMillis);
+            full = builder.getGames() >= blockGames || builder.getRolls() >= blockRolls;
+        }
+        if (full && !flusher.isShutdown()) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /** Written segments, oldest first. Games still being collected are not included. */
+    public List<ColumnarSegment> getSegments() {
+        return new ArrayList<>(segments);
+    }
+
+    /** Writes out the games collected so far, if any. */
+    public void flush() throws IOException {
+        synchronized (flushLock) {
+            ColumnarSegment.Builder full;
+            long firstGame;
+            synchronized (lock) {
+                if (builder.getGames() == 0) {
+                    return;
+                }
+                full = builder;
+                firstGame = nextGame;
+                builder = new ColumnarSegment.Builder();
+                nextGame += full.getGames();
+            }
+            Path file = directory.resolve(String.format("games-%020d.col", firstGame));
+            full.write(file);
+            segments.add(ColumnarSegment.open(file, firstGame));
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            log.error("Writing game history segment failed; those games are dropped", e);
+        }
+    }
+
+    private static Long parseFirstGame(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith("games-") || !name.endsWith(".col")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(name.substring("games-".length(), name.length() - ".col".length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+}
@@ -0,0 +1,462 @@
+package com.dicegame.service;
+
+import com.dicegame.model.DiceRng;
+import com.dicegame.model.DiceRules;
+import com.dicegame.model.GameEngine;
+import com.dicegame.model.Player;
+import com.dicegame.model.ScoringRule;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Makes active games survive a restart. Every command that changes a game is
+ * appended to the {@link GameEventLog} from the game's stripe: the start (with its
+ * players), each roll with its value, next-round and the end, plus the full state
+ * of games handed over from another node. Completed rounds and
+ * finished games follow from the rolls, so they are re-derived on replay rather than
+ * logged. A periodic snapshot writes every live game in compact binary form, after
+ * which older log segments are deleted; startup loads the newest intact snapshot and
+ * replays the log tail on top of it.
+ */
+@Component
+public class GameJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(GameJournal.class);
+
+    private static final byte START = 1;
+    private static final byte ROLL = 2; // single die value; read only, superseded by ROLL_DICE
+    private static final byte NEXT_ROUND = 3;
+    private static final byte END = 4;
+    private static final byte IMPORT = 5;
+    private static final byte ROLL_DICE = 6;
+
+    private static final int SNAPSHOT_MAGIC = 0x44474a53; // "DGJS"
+    private static final int SNAPSHOT_VERSION = 1;
+    // The older snapshot is kept, with the log after it, in case the newer one is unreadable
+    private static final int SNAPSHOTS_KEPT = 2;
+    private static final CompletableFuture<Void> NOT_LOGGED = CompletableFuture.completedFuture(null);
+
+    private final GameEventLog eventLog;
+    private final GameExecutor gameExecutor;
+    private final ActiveGameStore activeGames;
+    private final long snapshotIntervalMillis;
+
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private ScheduledExecutorService snapshotter;
+    private long lastSnapshotLsn; // guarded by snapshotLock once recover() has returned
+
+    public GameJournal(GameEventLog eventLog,
+                       GameExecutor gameExecutor,
+                       ActiveGameStore activeGames,
+                       @Value("${dicegame.eventlog.snapshot-interval-ms:60000}") long snapshotIntervalMillis) {
+        this.eventLog = eventLog;
+        this.gameExecutor = gameExecutor;
+        this.activeGames = activeGames;
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+    }
+
+    /** A game rebuilt at startup, with the LSN of its latest logged change. */
+    public static class RecoveredGame {
+        private final GameEngine engine;
+        private long lastLsn;
+
+        RecoveredGame(GameEngine engine, long lastLsn) {
+            this.engine = engine;
+            this.lastLsn = lastLsn;
+        }
+
+        public GameEngine getEngine() { return engine; }
+        public long getLastLsn() { return lastLsn; }
+    }
+
+    /**
+     * Rebuilds the games that were active when the process stopped, then opens the
+     * log for appends and starts periodic snapshots. Called once, before any game
+     * command runs.
+     */
+    public Collection<RecoveredGame> recover() throws IOException {
+        if (!eventLog.isEnabled()) {
+            return List.of();
+        }
+        long started = System.nanoTime();
+        Map<String, RecoveredGame> games = new HashMap<>();
+        long fromLsn = loadSnapshot(games);
+        int snapshotGames = games.size();
+        long[] replayed = new long[1];
+        eventLog.open(fromLsn, (lsn, payload) -> {
+            replayed[0]++;
+            apply(games, lsn, payload);
+        });
+        lastSnapshotLsn = fromLsn;
+        log.info("Recovered {} active games ({} from snapshot, {} log events replayed) in {} ms",
+            games.size(), snapshotGames, replayed[0], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotter.scheduleWithFixedDelay(this::snapshotQuietly,
+            snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+        return games.values();
+    }
+
+    // The log* methods run on the game's stripe and return once the change is durable
+
+    public CompletableFuture<Void> logStart(ActiveGame active) {
+        GameEngine game = active.getEngine();
+        return append(active, START, out -> {
+            out.writeByte(game.getMode().ordinal());
+            out.writeInt(game.getMaxRounds());
+            out.writeByte(game.getRngType().ordinal());
+            out.writeLong(game.getSeed());
+            out.writeInt(game.getMaxPlayers());
+            out.writeLong(game.getStartTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            out.writeInt(game.getPlayers().size());
+            for (Player player : game.getPlayers()) {
+                writeString(out, player.getName());
+                out.writeBoolean(player.isComputer());
+            }
+            // Appended later; records without it are classic one-die games
+            out.writeByte(game.getRules().diceCount());
+            out.writeByte(game.getRules().faces());
+            out.writeByte(game.getRules().scoring().ordinal());
+        });
+    }
+
+    /** Logs the faces the given slot just threw, read from the engine. */
+    public CompletableFuture<Void> logRoll(ActiveGame active, int slot, long epochMillis) {
+        GameEngine game = active.getEngine();
+        return append(active, ROLL_DICE, out -> {
+            out.writeInt(slot);
+            out.writeLong(epochMillis);
+            int count = game.getRules().diceCount();
+            out.writeByte(count);
+            for (int die = 0; die < count; die++) {
+                out.writeByte(game.getRollDie(slot, die));
+            }
+        });
+    }
+
+    public CompletableFuture<Void> logNextRound(ActiveGame active) {
+        return append(active, NEXT_ROUND, out -> { });
+    }
+
+    public CompletableFuture<Void> logEnd(ActiveGame active) {
+        return append(active, END, out -> { });
+    }
+    
+    /** Logs a game handed over from another node, as its complete state. */
+    public CompletableFuture<Void> logImport(ActiveGame active) {
+        return append(active, IMPORT, out -> active.getEngine().writeSnapshot(out));
+    }
+
+    private CompletableFuture<Void> append(ActiveGame active, byte type, GameEventLog.RecordWriter body) {
+        if (!eventLog.isEnabled()) {
+            return NOT_LOGGED;
+        }
+        String gameId = active.getGameId();
+        long lsn = eventLog.append(out -> {
+            out.writeByte(type);
+            writeString(out, gameId);
+            body.write(out);
+        });
+        active.setLastLsn(lsn);
+        return eventLog.whenDurable(lsn);
+    }
+
+    private void apply(Map<String, RecoveredGame> games, long lsn, ByteBuffer payload) {
+        byte type = payload.get();
+        String gameId = readString(payload);
+        try {
+            if (type == START) {
+                games.computeIfAbsent(gameId, id -> new RecoveredGame(readStart(id, payload), lsn));
+                return;
+            }
+            if (type == IMPORT) {
+                GameEngine engine = GameEngine.readSnapshot(new DataInputStream(new ByteBufferInputStream(payload)));
+                games.put(gameId, new RecoveredGame(engine, lsn));
+                return;
+            }
+            RecoveredGame game = games.get(gameId);
+            if (game == null || lsn <= game.lastLsn) {
+                return; // already in the snapshot, or started before the retained log
+            }
+            game.lastLsn = lsn;
+            if (type == ROLL_DICE) {
+                int slot = payload.getInt();
+                long epochMillis = payload.getLong();
+                int[] faces = new int[payload.get() & 0xff];
+                for (int die = 0; die < faces.length; die++) {
+                    faces[die] = payload.get() & 0xff;
+                }
+                game.engine.replayRoll(slot, faces, epochMillis);
+            } else if (type == ROLL) {
+                game.engine.replayRoll(payload.getInt(), payload.get(), payload.getLong());
+            } else if (type == NEXT_ROUND) {
+                game.engine.nextRound();
+            } else if (type == END) {
+                games.remove(gameId);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Skipping event log record {} for game {}: {}", lsn, gameId, e.getMessage());
+        }
+    }
+
+    private static GameEngine readStart(String gameId, ByteBuffer payload) {
+        GameEngine.GameMode mode = GameEngine.GameMode.values()[payload.get()];
+        int maxRounds = payload.getInt();
+        DiceRng.Type rngType = DiceRng.Type.values()[payload.get()];
+        long seed = payload.getLong();
+        int maxPlayers = payload.getInt();
+        long startMillis = payload.getLong();
+        int playerCount = payload.getInt();
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            String name = readString(payload);
+            players.add(new Player(name, payload.get() != 0));
+        }
+        DiceRules rules = !payload.hasRemaining() ? DiceRules.DEFAULT
+            : new DiceRules(payload.get() & 0xff, payload.get() & 0xff, ScoringRule.values()[payload.get()]);
+        GameEngine game = new GameEngine(gameId, mode, maxRounds, rngType, seed, maxPlayers, rules);
+        game.setStartTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(startMillis), ZoneId.systemDefault()));
+        players.forEach(game::addPlayer);
+        return game;
+    }
+
+    /**
+     * Writes every live game to a new snapshot file and deletes log segments that no
+     * retained snapshot needs. Each game is captured on its own stripe, together with
+     * the LSN of its latest change, so replay can skip the records it already holds.
+     */
+    public void snapshot() throws IOException {
+        if (!eventLog.isEnabled()) {
+            return;
+        }
+        // A lock rather than a monitor: the snapshot waits on every stripe and writes files
+        snapshotLock.lock();
+        try {
+            writeSnapshot();
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        // Records before this LSN are either in a captured game or belong to a game that has ended
+        long fromLsn = eventLog.getNextLsn();
+        if (fromLsn == lastSnapshotLsn) {
+            return; // nothing logged since the last snapshot
+        }
+        long started = System.nanoTime();
+        List<CompletableFuture<byte[]>> captures = new ArrayList<>();
+        for (ActiveGame active : activeGames.values()) {
+            captures.add(gameExecutor.submit(active.getGameId(), () -> capture(active)));
+        }
+        List<byte[]> games = new ArrayList<>(captures.size());
+        for (CompletableFuture<byte[]> capture : captures) {
+            byte[] game = capture.join();
+            if (game != null) {
+                games.add(game);
+            }
+        }
+
+        Path directory = eventLog.getDirectory();
+        Path temp = directory.resolve("snapshot.tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32C checksum = new CRC32C();
+            OutputStream file = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, checksum), 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(fromLsn);
+            out.writeInt(games.size());
+            for (byte[] game : games) {
+                out.write(game);
+            }
+            out.flush();
+            new DataOutputStream(file).writeLong(checksum.getValue());
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(snapshotName(fromLsn)), StandardCopyOption.ATOMIC_MOVE);
+        lastSnapshotLsn = fromLsn;
+
+        List<Long> snapshots = listSnapshots();
+        for (int i = SNAPSHOTS_KEPT; i < snapshots.size(); i++) {
+            Files.deleteIfExists(directory.resolve(snapshotName(snapshots.get(i))));
+        }
+        if (snapshots.size() >= SNAPSHOTS_KEPT) {
+            eventLog.deleteSegmentsBefore(snapshots.get(SNAPSHOTS_KEPT - 1));
+        }
+        log.debug("Snapshot of {} games at LSN {} took {} ms",
+            games.size(), fromLsn, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.warn("Active game snapshot failed", e);
+        }
+    }
+
+    // Runs on the game's stripe; games not yet logged or already ended are left out
+    private static byte[] capture(ActiveGame active) {
+        if (active.isEnded() || active.getLastLsn() == 0) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(active.getLastLsn());
+            active.getEngine().writeSnapshot(out);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Loads the newest intact snapshot and returns the LSN replay starts from
+    private long loadSnapshot(Map<String, RecoveredGame> games) throws IOException {
+        if (!Files.isDirectory(eventLog.getDirectory())) {
+            return 1;
+        }
+        for (long fromLsn : listSnapshots()) {
+            Path file = eventLog.getDirectory().resolve(snapshotName(fromLsn));
+            try {
+                readSnapshot(file, games);
+                return fromLsn;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Ignoring unreadable snapshot {}", file, e);
+                games.clear();
+            }
+        }
+        return 1;
+    }
+
+    private static void readSnapshot(Path file, Map<String, RecoveredGame> games) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 28) {
+                throw new IOException("Snapshot is truncated");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32C checksum = new CRC32C();
+            checksum.update(buffer.slice(0, (int) size - 8));
+            if (checksum.getValue() != buffer.getLong((int) size - 8)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            DataInputStream in = new DataInputStream(new ByteBufferInputStream(buffer.slice(0, (int) size - 8)));
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a game snapshot");
+            }
+            in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long lastLsn = in.readLong();
+                GameEngine engine = GameEngine.readSnapshot(in);
+                games.put(engine.getGameId(), new RecoveredGame(engine, lastLsn));
+            }
+        }
+    }
+
+    // Newest first
+    private List<Long> listSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(eventLog.getDirectory())) {
+            return files.map(file -> file.getFileName().toString())
+                .filter(name -> name.startsWith("snapshot-") && name.endsWith(".snap"))
+                .map(name -> Long.parseLong(name.substring("snapshot-".length(), name.length() - ".snap".length())))
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        }
+    }
+
+    private static String snapshotName(long fromLsn) {
+        return String.format("snapshot-%020d.snap", fromLsn);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[Short.toUnsignedInt(in.getShort())];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (snapshotter == null) {
+            return;
+        }
+        snapshotter.shutdown();
+        // A final snapshot keeps the next startup's replay short
+        snapshotQuietly();
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.dicegame.service;
+
+/** The game id is unknown, or the game was ended or evicted. */
+public class GameNotFoundException extends IllegalArgumentException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public GameNotFoundException(String gameId) {
+        super("Game not found: " + gameId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.dicegame.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Result of one finished game as far as player statistics are concerned.
+ * Only human players are listed; winnerName is null on a draw.
+ */
+public record GameOutcome(List<String> playerNames, String winnerName, LocalDateTime endedAt) {
+}
@@ -1,157 +1,582 @@
 package com.dicegame.service;
 
 import com.dicegame.dto.*;
+import com.dicegame.metrics.Counter;
+import com.dicegame.metrics.Histogram;
+import com.dicegame.metrics.MetricsRegistry;
+import com.dicegame.model.ComputerStrategy;
+import com.dicegame.model.DiceRng;
+import com.dicegame.model.DiceRules;
 import com.dicegame.model.GameEngine;
+import com.dicegame.model.OutcomeTable;
 import com.dicegame.model.Player;
-import com.dicegame.repository.PlayerRepository;
+import com.dicegame.model.ScoringRule;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class GameService {
     
     @Autowired
-    private PlayerRepository playerRepository;
+    private GameExecutor gameExecutor;
     
-    private final Map<String, GameEngine> activeGames = new ConcurrentHashMap<>();
+    @Autowired
+    private PlayerStatsWriter statsWriter;
+    
+    @Autowired
+    private LeaderboardService leaderboardService;
+    
+    @Autowired
+    private GameEventPublisher gameEvents;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${dicegame.rng.default:counter}")
+    private String defaultRng;
+    
+    // A chosen seed makes every roll known in advance, so such games would skew stats and the leaderboard
+    @Value("${dicegame.rng.client-seeds:false}")
+    private boolean clientSeeds;
+    
+    @Autowired
+    private OutcomeTableCache outcomeTables;
+    
+    @Value("${dicegame.games.max-players:100}")
+    private int maxPlayers;
+    
+    @Value("${dicegame.games.max-rounds:10000}")
+    private int maxRounds;
+    
+    @Value("${dicegame.computer.server-turns:true}")
+    private boolean computerServerTurns;
+    
+    @Value("${dicegame.computer.strategy:roll_after_humans}")
+    private String computerStrategyName;
+    
+    @Value("${dicegame.computer.turn-delay-ms:0}")
+    private long computerTurnDelayMillis;
+    
+    @Autowired
+    private ActiveGameStore activeGames;
+    
+    @Autowired
+    private GameJournal journal;
+    
+    @Autowired
+    private GameArchive archive;
+    
+    @Autowired
+    private GameHistoryArchive history;
+    
+    @Autowired
+    private ClusterMembership cluster;
+    
+    @Autowired
+    private MetricsRegistry metrics;
+    
+    @Autowired
+    private AdmissionControl admission;
+    
+    // Registered once in init(); stripes only increment them
+    private Counter gamesStarted;
+    private Counter rolls;
+    private Counter roundsCompleted;
+    private Counter gamesCompleted;
+    private final Map<DiceRng.Type, Histogram> rngTimers = new EnumMap<>(DiceRng.Type.class);
+    
+    private ComputerStrategy computerStrategy;
+    // Only used when computer turns are delayed; they then run on the game's stripe when due
+    private ScheduledExecutorService computerTurnTimer;
+    
+    // Game ids are visible to clients, so derived seeds are salted to keep rolls unpredictable
+    private final long seedSalt = new SecureRandom().nextLong();
+    // Event sequences of recovered games restart at 0, so ETags also carry this per-boot value
+    private final String eTagEpoch = Long.toString(new SecureRandom().nextLong() >>> 1, 36);
+    
+    // Generator calls take nanoseconds; anything past a few microseconds is a stall
+    private static final double[] RNG_BUCKETS = {1e-8, 2.5e-8, 5e-8, 1e-7, 2.5e-7, 5e-7, 1e-6, 5e-6, 2.5e-5, 1e-4};
+    
+    @PostConstruct
+    public void init() throws IOException {
+        activeGames.setEvictionListener(this::summarizeEvictedGame);
+        registerMetrics();
+        computerStrategy = ComputerStrategy.create(ComputerStrategy.parseType(computerStrategyName));
+        if (computerServerTurns && computerTurnDelayMillis > 0) {
+            computerTurnTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "computer-turn-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        
+        // Bring back the games that were in progress when the server last stopped
+        for (GameJournal.RecoveredGame recovered : journal.recover()) {
+            timeRng(recovered.getEngine());
+            ActiveGame active = new ActiveGame(recovered.getEngine());
+            active.setLastLsn(recovered.getLastLsn());
+            publishSnapshot(active);
+            activeGames.put(active);
+        }
+    }
+    
+    private void registerMetrics() {
+        gamesStarted = metrics.counter("dicegame_games_started_total", "Games started on this node");
+        rolls = metrics.counter("dicegame_rolls_total", "Dice rolls made by players");
+        roundsCompleted = metrics.counter("dicegame_rounds_completed_total", "Rounds in which every player rolled");
+        gamesCompleted = metrics.counter("dicegame_games_completed_total", "Games that reached their last round");
+        metrics.gauge("dicegame_active_games", "Games held in memory on this node", activeGames::size);
+        for (DiceRng.Type type : DiceRng.Type.values()) {
+            rngTimers.put(type, metrics.histogram("dicegame_rng_draw_seconds",
+                "Time of one dice generator call, sampled 1 in 256 rolls", RNG_BUCKETS, "rng", type.name().toLowerCase()));
+        }
+    }
+    
+    private void timeRng(GameEngine game) {
+        game.setRngTimer(rngTimers.get(game.getRngType())::record);
+    }
     
     public GameStateDto startGame(StartGameRequest request) {
-        String gameId = UUID.randomUUID().toString();
+        // Shed before anything is allocated for the game
+        admission.checkNewGame();
+        String gameId = newLocalGameId();
         
         GameEngine.GameMode mode = "pvc".equals(request.getMode()) ? 
             GameEngine.GameMode.PVC : GameEngine.GameMode.PVP;
         
-        GameEngine game = new GameEngine(gameId, mode, request.getRounds());
+        DiceRng.Type rngType = DiceRng.parseType(request.getRng() != null ? request.getRng() : defaultRng);
+        if (request.getSeed() != null && !clientSeeds) {
+            throw new IllegalArgumentException("Seeds are only accepted with the replay profile");
+        }
+        long seed = request.getSeed() != null ? request.getSeed() : DiceRng.seedFromGameId(gameId) ^ seedSalt;
         
-        // Create players
-        Player player1 = new Player("Player 1", false);
-        Player player2 = new Player(
-            mode == GameEngine.GameMode.PVC ? "Computer" : "Player 2", 
-            mode == GameEngine.GameMode.PVC
-        );
+        if (request.getRounds() < 1 || request.getRounds() > maxRounds) {
+            throw new IllegalArgumentException("Rounds must be between 1 and " + maxRounds);
+        }
+        int playerCount = request.getPlayers() != null ? request.getPlayers() : 2;
+        if (playerCount < 2 || playerCount > maxPlayers) {
+            throw new IllegalArgumentException("Players must be between 2 and " + maxPlayers);
+        }
+        DiceRules rules = new DiceRules(
+            request.getDice() != null ? request.getDice() : DiceRules.DEFAULT.diceCount(),
+            request.getFaces() != null ? request.getFaces() : DiceRules.DEFAULT.faces(),
+            request.getScoring() != null ? ScoringRule.parse(request.getScoring()) : DiceRules.DEFAULT.scoring());
         
-        game.addPlayer(player1);
-        game.addPlayer(player2);
+        GameEngine game = new GameEngine(gameId, mode, request.getRounds(), rngType, seed, playerCount, rules);
         
-        activeGames.put(gameId, game);
+        // Create players; in PVC everyone after the first player is a computer
+        boolean pvc = mode == GameEngine.GameMode.PVC;
+        game.addPlayer(new Player("Player 1", false));
+        for (int i = 2; i <= playerCount; i++) {
+            String name = !pvc ? "Player " + i : playerCount == 2 ? "Computer" : "Computer " + (i - 1);
+            game.addPlayer(new Player(name, pvc));
+        }
+        timeRng(game);
+        
+        ActiveGame active = new ActiveGame(game);
+        GameStateDto snapshot = publishSnapshot(active);
+        activeGames.put(active);
+        // Logged on the stripe, after the put, so a concurrent journal snapshot either captures it or replays it
+        GameExecutor.join(gameExecutor.submit(gameId, () -> journal.logStart(active)).thenCompose(Function.identity()));
+        gamesStarted.increment();
         
-        return convertToGameStateDto(game);
+        return snapshot;
     }
     
     public DiceRollResponse rollDice(String gameId, String playerName) {
-        GameEngine game = activeGames.get(gameId);
-        if (game == null) {
-            throw new IllegalArgumentException("Game not found");
-        }
-        
-        GameEngine.DiceRoll roll = game.rollDice(playerName);
-        
-        DiceRollResponse response = new DiceRollResponse();
-        response.setPlayerName(roll.getPlayerName());
-        response.setValue(roll.getValue());
-        response.setTimestamp(roll.getTimestamp());
-        response.setGameState(convertToGameStateDto(game));
+        return GameExecutor.join(rollDiceAsync(gameId, playerName));
+    }
+    
+    /** Queues a roll on the game's stripe; commands for one game complete in submission order. */
+    public CompletableFuture<DiceRollResponse> rollDiceAsync(String gameId, String playerName) {
+        ActiveGame active = findActiveGame(gameId);
         
-        return response;
+        return gameExecutor.submit(gameId, () -> {
+            GameEngine game = requireLive(active);
+            int roundsBefore = game.getCompletedRounds();
+            int slot = game.resolveSlot(playerName);
+            GameEngine.DiceRoll roll = game.rollDice(playerName);
+            rolls.increment();
+            CompletableFuture<Void> logged = journal.logRoll(active, slot, game.getRollTimeMillis(slot));
+            publishRollEvents(active, roll, roundsBefore);
+            List<RollView> computerRolls = new ArrayList<>(1);
+            CompletableFuture<Void> computerLogged = computerTurns(active, computerRolls);
+            
+            DiceRollResponse response = new DiceRollResponse();
+            response.setPlayerName(roll.getPlayerName());
+            response.setValue(roll.getValue());
+            response.setTimestamp(roll.getTimestamp());
+            response.setComputerRolls(computerRolls);
+            response.setGameState(publishSnapshot(active));
+            return CompletableFuture.allOf(logged, computerLogged).thenApply(durable -> response);
+        }).thenCompose(Function.identity());
     }
     
     public GameStateDto nextRound(String gameId) {
-        GameEngine game = activeGames.get(gameId);
-        if (game == null) {
-            throw new IllegalArgumentException("Game not found");
-        }
+        return GameExecutor.join(nextRoundAsync(gameId));
+    }
+    
+    public CompletableFuture<GameStateDto> nextRoundAsync(String gameId) {
+        ActiveGame active = findActiveGame(gameId);
         
-        game.nextRound();
-        return convertToGameStateDto(game);
+        return gameExecutor.submit(gameId, () -> {
+            GameEngine game = requireLive(active);
+            game.nextRound();
+            CompletableFuture<Void> logged = journal.logNextRound(active);
+            publishEvent(active, GameEventDto.Type.NEXT_ROUND, event -> event.setRound(game.getCurrentRound()));
+            CompletableFuture<Void> computerLogged = computerTurns(active, new ArrayList<>(1));
+            GameStateDto state = publishSnapshot(active);
+            return CompletableFuture.allOf(logged, computerLogged).thenApply(durable -> state);
+        }).thenCompose(Function.identity());
     }
     
     public GameStateDto getGameState(String gameId) {
-        GameEngine game = activeGames.get(gameId);
-        if (game == null) {
-            throw new IllegalArgumentException("Game not found");
+        return findActiveGame(gameId).getSnapshot().getState();
+    }
+    
+    /** The current state as JSON, serialized at most once per state change. */
+    public byte[] getGameStateJson(String gameId) {
+        ActiveGame.Snapshot snapshot = findActiveGame(gameId).getSnapshot();
+        byte[] json = snapshot.getJson();
+        if (json == null) {
+            try {
+                json = objectMapper.writeValueAsBytes(snapshot.getState());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize game state", e);
+            }
+            snapshot.setJson(json);
         }
-        
-        return convertToGameStateDto(game);
+        return json;
+    }
+    
+    /**
+     * Entity tag for the current state; changes whenever a game event is applied,
+     * and on every restart, since recovered games number their events from 0 again.
+     */
+    public String getGameStateETag(String gameId) {
+        GameStateDto state = findActiveGame(gameId).getSnapshot().getState();
+        return "\"" + eTagEpoch + "-" + state.seq() + "\"";
     }
     
     public GameResultDto endGame(String gameId) {
-        GameEngine game = activeGames.get(gameId);
-        if (game == null) {
-            throw new IllegalArgumentException("Game not found");
-        }
+        return GameExecutor.join(endGameAsync(gameId));
+    }
+    
+    public CompletableFuture<GameResultDto> endGameAsync(String gameId) {
+        ActiveGame active = findActiveGame(gameId);
         
-        // Save players to database
-        for (Player player : game.getPlayers()) {
-            if (!player.isComputer()) {
-                Optional<Player> existingPlayer = playerRepository.findByName(player.getName());
-                if (existingPlayer.isPresent()) {
-                    Player existing = existingPlayer.get();
-                    existing.setTotalGames(existing.getTotalGames() + 1);
-                    existing.setLastPlayed(LocalDateTime.now());
-                    if (player.equals(game.getGameWinner())) {
-                        existing.setTotalWins(existing.getTotalWins() + 1);
-                    }
-                    playerRepository.save(existing);
-                } else {
-                    playerRepository.save(player);
-                }
-            }
-        }
+        // Close the game on its own stripe so a concurrent roll or end cannot interleave
+        return gameExecutor.submit(gameId, () -> {
+            GameEngine engine = requireLive(active);
+            active.markEnded();
+            activeGames.remove(gameId, active);
+            CompletableFuture<Void> logged = journal.logEnd(active);
+            CompletableFuture<Void> archived = archive.archive(engine);
+            history.record(engine);
+            publishEvent(active, GameEventDto.Type.GAME_ENDED, event -> { });
+            return CompletableFuture.allOf(logged, archived).thenApply(durable -> engine);
+        }).thenCompose(Function.identity()).thenApply(this::summarizeEndedGame);
+    }
+    
+    private GameResultDto summarizeEndedGame(GameEngine game) {
+        Player winner = game.getGameWinner();
+        recordOutcome(game, winner);
         
         GameResultDto result = new GameResultDto();
-        result.setGameId(gameId);
-        result.setWinner(game.getGameWinner());
+        result.setGameId(game.getGameId());
+        result.setWinner(winner != null ? PlayerView.of(winner) : null);
         result.setTotalRounds(game.getCurrentRound() - 1);
         result.setFinalScores(game.getPlayers().stream()
             .mapToInt(Player::getScore)
             .toArray());
         result.setTimestamp(LocalDateTime.now());
-        result.setDraw(game.getGameWinner() == null);
-        
-        // Remove game from active games
-        activeGames.remove(gameId);
+        result.setDraw(winner == null);
+        result.setRng(game.getRngType().name().toLowerCase());
+        result.setSeed(game.getSeed());
         
         return result;
     }
     
-    public List<PlayerStatsDto> getLeaderboard() {
-        List<Player> players = playerRepository.findTop10ByOrderByTotalWinsDesc();
-        return players.stream()
-            .map(this::convertToPlayerStatsDto)
+    public List<PlayerStatsDto> getLeaderboard(int page, int size) {
+        return leaderboardService.getPage(page, size);
+    }
+    
+    public String getLeaderboardETag() {
+        return leaderboardService.getETag();
+    }
+    
+    // Hand the result to the write-behind stats pipeline
+    private void recordOutcome(GameEngine game, Player winner) {
+        List<String> humanPlayers = game.getPlayers().stream()
+            .filter(player -> !player.isComputer())
+            .map(Player::getName)
             .collect(Collectors.toList());
+        statsWriter.submit(new GameOutcome(humanPlayers, winner != null ? winner.getName() : null, LocalDateTime.now()));
+    }
+    
+    // Runs on the evicted game's stripe. Finished games count normally; abandoned games that
+    // got past their first round count as played without a win; anything else is dropped.
+    private void summarizeEvictedGame(ActiveGame active, ActiveGameStore.EvictionCause cause) {
+        GameEngine game = active.getEngine();
+        journal.logEnd(active);
+        archive.archive(game);
+        history.record(game);
+        publishEvent(active, GameEventDto.Type.GAME_ENDED, event -> { });
+        if (game.isGameComplete()) {
+            recordOutcome(game, game.getGameWinner());
+        } else if (game.getCompletedRounds() > 0) {
+            recordOutcome(game, null);
+        }
+    }
+    
+    // New games are given an id this node owns, so starting one never needs a hop
+    private String newLocalGameId() {
+        while (true) {
+            String gameId = UUID.randomUUID().toString();
+            // A draining node owns nothing; its games are served locally until the next handoff
+            if (cluster.isOwner(gameId) || !cluster.isMember()) {
+                return gameId;
+            }
+        }
+    }
+    
+    /**
+     * Takes a game out of service for handoff to another node and returns its event
+     * sequence followed by the engine snapshot, or null if it has already ended.
+     * Commands arriving meanwhile fail as not found.
+     */
+    public byte[] detachGame(ActiveGame active) {
+        return gameExecutor.execute(active.getGameId(), () -> {
+            if (active.isEnded()) {
+                return null;
+            }
+            active.markEnded();
+            activeGames.remove(active.getGameId(), active);
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeLong(active.getEventSeq());
+                active.getEngine().writeSnapshot(out);
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+    
+    /** The new owner has the game: log it as gone here and point subscribers at the new node. */
+    public void completeHandoff(ActiveGame active, String owner) {
+        gameExecutor.execute(active.getGameId(), () -> {
+            journal.logEnd(active);
+            publishEvent(active, GameEventDto.Type.GAME_MOVED, event -> event.setOwner(owner));
+            return null;
+        });
+    }
+    
+    /** The handoff failed: serve the game here again, unchanged. */
+    public void abortHandoff(ActiveGame active) {
+        ActiveGame restored = new ActiveGame(active.getEngine(), active.getEventSeq());
+        restored.setLastLsn(active.getLastLsn());
+        publishSnapshot(restored);
+        activeGames.put(restored);
+    }
+    
+    /** Takes over a game detached on another node. */
+    public GameStateDto importGame(byte[] state) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(state));
+        long eventSeq = in.readLong();
+        GameEngine game = GameEngine.readSnapshot(in);
+        if (activeGames.contains(game.getGameId())) {
+            throw new IllegalStateException("Game already active here: " + game.getGameId());
+        }
+        timeRng(game);
+        ActiveGame active = new ActiveGame(game, eventSeq);
+        GameStateDto snapshot = publishSnapshot(active);
+        activeGames.put(active);
+        GameExecutor.join(gameExecutor.submit(game.getGameId(), () -> journal.logImport(active)).thenCompose(Function.identity()));
+        return snapshot;
+    }
+    
+    public ActiveGameMetricsDto getActiveGameMetrics() {
+        return activeGames.getMetrics();
+    }
+    
+    public StatsPipelineMetricsDto getStatsPipelineMetrics() {
+        return statsWriter.getMetrics();
     }
     
     public void deleteGame(String gameId) {
-        activeGames.remove(gameId);
-    }
-    
-    private GameStateDto convertToGameStateDto(GameEngine game) {
-        GameStateDto dto = new GameStateDto();
-        dto.setGameId(game.getGameId());
-        dto.setMode(game.getMode().name().toLowerCase());
-        dto.setMaxRounds(game.getMaxRounds());
-        dto.setCurrentRound(game.getCurrentRound());
-        dto.setStatus(game.getStatus().name().toLowerCase());
-        dto.setPlayers(game.getPlayers());
-        dto.setCurrentRoundRolls(game.getCurrentRoundRolls());
-        dto.setGameComplete(game.isGameComplete());
-        dto.setRoundComplete(game.isRoundComplete());
-        return dto;
-    }
-    
-    private PlayerStatsDto convertToPlayerStatsDto(Player player) {
-        PlayerStatsDto dto = new PlayerStatsDto();
-        dto.setId(player.getId());
-        dto.setName(player.getName());
-        dto.setTotalGames(player.getTotalGames());
-        dto.setTotalWins(player.getTotalWins());
-        dto.setWinRate(player.getWinRate());
-        dto.setLastPlayed(player.getLastPlayed());
-        return dto;
-    }
-}
\ No newline at end of file
+        ActiveGame active = activeGames.remove(gameId);
+        if (active != null) {
+            active.markEnded();
+            gameExecutor.submit(gameId, () -> {
+                journal.logEnd(active);
+                publishEvent(active, GameEventDto.Type.GAME_ENDED, event -> { });
+                return null;
+            });
+        }
+    }
+    
+    private ActiveGame findActiveGame(String gameId) {
+        ActiveGame active = activeGames.get(gameId);
+        if (active == null) {
+            throw new GameNotFoundException(gameId);
+        }
+        return active;
+    }
+    
+    // Must run on the game's stripe: a game removed while the command was queued is gone
+    private GameEngine requireLive(ActiveGame active) {
+        if (active.isEnded()) {
+            throw new GameNotFoundException(active.getGameId());
+        }
+        return active.getEngine();
+    }
+    
+    // Must run on the game's stripe. Plays the computer players' turns now, or schedules them when delayed.
+    private CompletableFuture<Void> computerTurns(ActiveGame active, List<RollView> rolled) {
+        if (!computerServerTurns || active.getEngine().getMode() != GameEngine.GameMode.PVC) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (computerTurnTimer == null) {
+            return playComputerTurns(active, rolled);
+        }
+        computerTurnTimer.schedule(() -> gameExecutor.submit(active.getGameId(), () -> {
+            if (!active.isEnded()) {
+                List<RollView> delayed = new ArrayList<>(1);
+                playComputerTurns(active, delayed);
+                if (!delayed.isEmpty()) {
+                    publishSnapshot(active);
+                }
+            }
+            return null;
+        }), computerTurnDelayMillis, TimeUnit.MILLISECONDS);
+        return CompletableFuture.completedFuture(null);
+    }
+    
+    // Asks each computer player that has not rolled, until all of them wait or the round is over
+    private CompletableFuture<Void> playComputerTurns(ActiveGame active, List<RollView> rolled) {
+        GameEngine game = active.getEngine();
+        List<CompletableFuture<Void>> logged = new ArrayList<>(1);
+        OutcomeTable odds = outcomeTables.get(game.getRules());
+        boolean acted = true;
+        while (acted && game.getStatus() == GameEngine.GameStatus.IN_PROGRESS) {
+            acted = false;
+            for (int slot = 0; slot < game.getPlayers().size() && game.getStatus() == GameEngine.GameStatus.IN_PROGRESS; slot++) {
+                Player player = game.getPlayers().get(slot);
+                if (!player.isComputer() || game.hasRolled(slot)
+                        || computerStrategy.decide(game, slot, odds) != ComputerStrategy.Action.ROLL) {
+                    continue;
+                }
+                int roundsBefore = game.getCompletedRounds();
+                GameEngine.DiceRoll roll = game.rollDice(player.getName());
+                rolls.increment();
+                logged.add(journal.logRoll(active, slot, game.getRollTimeMillis(slot)));
+                publishRollEvents(active, roll, roundsBefore);
+                rolled.add(RollView.of(roll));
+                acted = true;
+            }
+        }
+        return CompletableFuture.allOf(logged.toArray(new CompletableFuture<?>[0]));
+    }
+    
+    private void publishRollEvents(ActiveGame active, GameEngine.DiceRoll roll, int roundsBefore) {
+        GameEngine game = active.getEngine();
+        publishEvent(active, GameEventDto.Type.ROLL, event -> {
+            event.setRound(game.getCurrentRound());
+            event.setPlayerName(roll.getPlayerName());
+            event.setValue(roll.getValue());
+        });
+        if (game.getCompletedRounds() == roundsBefore) {
+            return;
+        }
+        roundsCompleted.increment();
+        publishEvent(active, GameEventDto.Type.ROUND_COMPLETE, event -> {
+            Player winner = game.getLastRoundWinner();
+            event.setRound(game.getCurrentRound());
+            event.setWinner(winner != null ? winner.getName() : null);
+            event.setScores(game.getPlayers().stream().mapToInt(Player::getScore).toArray());
+            event.setRoundWins(game.getPlayers().stream().mapToInt(Player::getRoundWins).toArray());
+        });
+        if (game.isGameComplete()) {
+            gamesCompleted.increment();
+            publishEvent(active, GameEventDto.Type.GAME_COMPLETE, event -> {
+                Player winner = game.getGameWinner();
+                event.setWinner(winner != null ? winner.getName() : null);
+            });
+        }
+    }
+    
+    // Must run on the game's stripe. The sequence advances even when nobody is subscribed,
+    // so snapshot and delta sequence numbers always line up.
+    private void publishEvent(ActiveGame active, GameEventDto.Type type, Consumer<GameEventDto> details) {
+        long seq = active.nextEventSeq();
+        if (gameEvents.hasSubscribers(active.getGameId())) {
+            GameEventDto event = new GameEventDto(active.getGameId(), seq, type);
+            details.accept(event);
+            gameEvents.publish(event);
+        }
+    }
+    
+    private GameStateDto publishSnapshot(ActiveGame active) {
+        GameStateDto snapshot = convertToGameStateDto(active.getEngine(), active.getEventSeq());
+        active.setSnapshot(snapshot);
+        return snapshot;
+    }
+    
+    private GameStateDto convertToGameStateDto(GameEngine game, long seq) {
+        List<PlayerView> players = new ArrayList<>(game.getPlayers().size());
+        for (Player player : game.getPlayers()) {
+            players.add(PlayerView.of(player));
+        }
+        List<RollView> rolls = new ArrayList<>(2);
+        for (GameEngine.DiceRoll roll : game.getCurrentRoundRolls()) {
+            rolls.add(RollView.of(roll));
+        }
+        OutcomeTable table = outcomeTables.get(game.getRules());
+        OutcomeTable.Odds[] odds = table != null ? table.odds(game) : null;
+        return new GameStateDto(
+            game.getGameId(),
+            game.getMode().name().toLowerCase(),
+            game.getMaxRounds(),
+            game.getCurrentRound(),
+            game.getStatus().name().toLowerCase(),
+            game.getRngType().name().toLowerCase(),
+            seq,
+            players,
+            rolls,
+            game.isGameComplete(),
+            game.isRoundComplete(),
+            odds != null ? OddsView.of(odds) : null
+        );
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (computerTurnTimer != null) {
+            computerTurnTimer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.dicegame.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Consistent-hash ring over cluster members. Each member is placed at many
+ * virtual points so keys spread evenly, and adding or removing a member only
+ * moves the keys next to its points. Immutable; membership changes build a new ring.
+ */
+final class HashRing {
+    
+    private final List<String> members;
+    private final long[] points;
+    private final int[] owners;
+    
+    HashRing(List<String> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one member");
+        }
+        this.members = List.copyOf(members);
+        List<long[]> placed = new ArrayList<>(members.size() * virtualNodes);
+        for (int member = 0; member < members.size(); member++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                placed.add(new long[] {hash(members.get(member) + "#" + replica), member});
+            }
+        }
+        placed.sort(Comparator.comparingLong(point -> point[0]));
+        this.points = new long[placed.size()];
+        this.owners = new int[placed.size()];
+        for (int i = 0; i < placed.size(); i++) {
+            points[i] = placed.get(i)[0];
+            owners[i] = (int) placed.get(i)[1];
+        }
+    }
+    
+    /** The member owning the first point at or after the key's hash, wrapping around. */
+    String ownerOf(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return members.get(owners[index == points.length ? 0 : index]);
+    }
+    
+    List<String> getMembers() {
+        return members;
+    }
+    
+    // FNV-1a over the UTF-8 bytes with a 64-bit finalizer; stable across JVMs and nodes
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,136 @@
+package com.dicegame.service;
+
+import com.dicegame.dto.PlayerStatsDto;
+import com.dicegame.model.Player;
+import com.dicegame.repository.PlayerRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory top-K leaderboard. The stats writer pushes the fresh totals of every
+ * player it flushes, so reads never touch the database and cost O(offset + size).
+ * Ranking is by total wins, then fewest games (higher win rate for equal wins),
+ * then name.
+ */
+@Service
+public class LeaderboardService {
+    
+    private static final Comparator<Entry> RANKING = Comparator
+        .comparingInt(Entry::totalWins).reversed()
+        .thenComparingInt(Entry::totalGames)
+        .thenComparing(Entry::name);
+    
+    private final PlayerRepository playerRepository;
+    private final int capacity;
+    
+    private final ConcurrentSkipListSet<Entry> ranked = new ConcurrentSkipListSet<>(RANKING);
+    private final ConcurrentHashMap<String, Entry> rankedByName = new ConcurrentHashMap<>();
+    private volatile long version;
+    
+    public LeaderboardService(PlayerRepository playerRepository,
+                              @Value("${dicegame.leaderboard.capacity:100}") int capacity) {
+        this.playerRepository = playerRepository;
+        this.capacity = capacity;
+    }
+    
+    @PostConstruct
+    public void load() {
+        reload();
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public String getETag() {
+        return "\"" + version + "\"";
+    }
+    
+    public List<PlayerStatsDto> getPage(int page, int size) {
+        if (page < 0 || size < 1 || (long) page * size + size > capacity) {
+            throw new IllegalArgumentException("Leaderboard only holds the top " + capacity + " players");
+        }
+        List<PlayerStatsDto> result = new ArrayList<>(size);
+        Iterator<Entry> iterator = ranked.iterator();
+        for (int skipped = 0; skipped < page * size && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (result.size() < size && iterator.hasNext()) {
+            result.add(iterator.next().toDto());
+        }
+        return result;
+    }
+    
+    /**
+     * Applies the committed totals of players whose stats just changed. Called from
+     * the single stats flusher thread, so updates never race each other.
+     */
+    public void apply(List<Entry> updated) {
+        boolean changed = false;
+        boolean needsReload = false;
+        for (Entry entry : updated) {
+            Entry previous = rankedByName.remove(entry.name());
+            if (previous != null) {
+                ranked.remove(previous);
+                changed = true;
+            }
+            
+            boolean full = ranked.size() >= capacity;
+            if (!full || RANKING.compare(entry, ranked.last()) < 0) {
+                ranked.add(entry);
+                rankedByName.put(entry.name(), entry);
+                changed = true;
+                if (full) {
+                    Entry evicted = ranked.pollLast();
+                    rankedByName.remove(evicted.name(), evicted);
+                }
+            } else if (previous != null) {
+                // A ranked player fell below the cut: someone outside the index may now outrank them
+                needsReload = true;
+            }
+        }
+        if (needsReload) {
+            reload();
+        } else if (changed) {
+            version++;
+        }
+    }
+    
+    private void reload() {
+        List<Player> top = playerRepository.findByIsComputerFalse(PageRequest.of(0, capacity,
+            Sort.by(Sort.Order.desc("totalWins"), Sort.Order.asc("totalGames"), Sort.Order.asc("name"))));
+        ranked.clear();
+        rankedByName.clear();
+        for (Player player : top) {
+            Entry entry = new Entry(player.getId(), player.getName(), player.getTotalGames(),
+                player.getTotalWins(), player.getLastPlayed());
+            ranked.add(entry);
+            rankedByName.put(entry.name(), entry);
+        }
+        version++;
+    }
+    
+    public record Entry(Long id, String name, int totalGames, int totalWins, LocalDateTime lastPlayed) {
+        PlayerStatsDto toDto() {
+            PlayerStatsDto dto = new PlayerStatsDto();
+            dto.setId(id);
+            dto.setName(name);
+            dto.setTotalGames(totalGames);
+            dto.setTotalWins(totalWins);
+            dto.setWinRate(totalGames > 0 ? (double) totalWins / totalGames : 0.0);
+            dto.setLastPlayed(lastPlayed);
+            return dto;
+        }
+    }
+}
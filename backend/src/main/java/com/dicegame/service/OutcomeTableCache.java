@@ -0,0 +1,100 @@
+package com.dicegame.service;
+
+import com.dicegame.model.DiceRules;
+import com.dicegame.model.OutcomeTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Odds tables by dice rules, shared by every game played with those rules. Each
+ * table grows to the longest game asked about, up to {@code dicegame.odds.max-rounds},
+ * and a full one takes tens of megabytes, so the cache holds at most
+ * {@code dicegame.odds.max-cells} doubles across all tables. Past that, the least
+ * recently used tables are dropped and rebuilt if their rules come back; the table
+ * that just grew is kept, so it alone may exceed the budget.
+ */
+@Component
+public class OutcomeTableCache {
+
+    // Last-use stamps are refreshed at most this often, so hot tables do not write on every lookup
+    private static final long TOUCH_INTERVAL_NANOS = 1_000_000;
+
+    private final int maxRounds;
+    private final long maxCells;
+    private final Map<DiceRules, Entry> tables = new ConcurrentHashMap<>();
+    // Guarded by this
+    private long cells;
+
+    public OutcomeTableCache(@Value("${dicegame.odds.max-rounds:10000}") int maxRounds,
+                             @Value("${dicegame.odds.max-cells:16000000}") long maxCells) {
+        this.maxRounds = maxRounds;
+        this.maxCells = maxCells;
+    }
+
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+
+    /** Doubles held by all cached tables. */
+    public synchronized long getCells() {
+        return cells;
+    }
+
+    /** The table for {@code rules}, or null when their score distribution is too costly to enumerate. */
+    public OutcomeTable get(DiceRules rules) {
+        Entry entry = tables.get(rules);
+        if (entry == null) {
+            entry = tables.computeIfAbsent(rules, Entry::new);
+        }
+        long now = System.nanoTime();
+        if (now - entry.lastUsed > TOUCH_INTERVAL_NANOS) {
+            entry.lastUsed = now;
+        }
+        return entry.table;
+    }
+
+    // Growth is rare (each table at most doubles), so accounting under the lock costs nothing
+    private synchronized void grew(Entry grown, long added) {
+        if (grown.evicted) {
+            return;
+        }
+        grown.cells += added;
+        cells += added;
+        if (cells <= maxCells) {
+            return;
+        }
+        List<Entry> byAge = new ArrayList<>(tables.values());
+        byAge.sort(Comparator.comparingLong(entry -> entry.lastUsed));
+        for (Entry entry : byAge) {
+            if (cells <= maxCells) {
+                break;
+            }
+            if (entry != grown && entry.table != null && tables.remove(entry.rules, entry)) {
+                // Games holding the table keep using it until their next lookup
+                entry.evicted = true;
+                cells -= entry.cells;
+            }
+        }
+    }
+
+    private final class Entry {
+        private final DiceRules rules;
+        private final OutcomeTable table;
+        private volatile long lastUsed = System.nanoTime();
+        // Guarded by the cache
+        private long cells;
+        private boolean evicted;
+
+        Entry(DiceRules rules) {
+            this.rules = rules;
+            double[] distribution = rules.scoreDistribution();
+            this.table = distribution != null ? new OutcomeTable(maxRounds, distribution, added -> grew(this, added)) : null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.dicegame.service;
+
+/** The server is shedding new games; the client should retry after the given delay. */
+public class OverloadedException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public OverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
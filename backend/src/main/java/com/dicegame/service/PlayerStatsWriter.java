@@ -0,0 +1,348 @@
+package com.dicegame.service;
+
+import com.dicegame.dto.StatsPipelineMetricsDto;
+import com.dicegame.metrics.Counter;
+import com.dicegame.metrics.Histogram;
+import com.dicegame.metrics.MetricsRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind pipeline for player statistics. Finished games are recorded into
+ * per-player striped counters ({@link LongAdder}), so concurrent games for the
+ * same player never contend on a lock or lose an update. A single flusher thread
+ * periodically drains the counters into deltas and applies them with JDBC batch
+ * increments ({@code total_wins = total_wins + ?}), so rows are never
+ * read-modify-written. The committed totals are then pushed to the leaderboard.
+ */
+@Component
+public class PlayerStatsWriter {
+    
+    private static final Logger log = LoggerFactory.getLogger(PlayerStatsWriter.class);
+    
+    private static final String UPDATE_SQL =
+        "UPDATE players SET total_games = total_games + ?, total_wins = total_wins + ?, " +
+        "last_played = GREATEST(COALESCE(last_played, ?), ?) WHERE name = ? AND is_computer = FALSE";
+    private static final String SELECT_TOTALS_SQL =
+        "SELECT id, name, total_games, total_wins, last_played FROM players WHERE is_computer = FALSE AND name IN (%s)";
+    private static final String INSERT_SQL =
+        "INSERT INTO players (name, is_computer, score, round_wins, total_games, total_wins, created_at, last_played) " +
+        "VALUES (?, FALSE, 0, 0, ?, ?, ?, ?)";
+    
+    // Counters idle for this many flushes are retired from the map
+    private static final int IDLE_FLUSHES_BEFORE_RETIRE = 2;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final LeaderboardService leaderboardService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPendingPlayers;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    
+    private final ConcurrentHashMap<String, PlayerCounters> counters = new ConcurrentHashMap<>();
+    // Removed from the map but possibly still held by a writer; drained each flush until one finds them empty
+    private List<PlayerCounters> retired = new ArrayList<>();
+    // Deltas from a failed flush, retried before anything new
+    private final Map<String, PlayerDelta> unflushed = new LinkedHashMap<>();
+    // unflushed.size() for writers; counts toward the pending cap so a database outage applies backpressure
+    private volatile int unflushedPlayers;
+    
+    private volatile boolean running = true;
+    private Thread flusher;
+    
+    private final LongAdder outcomesQueued = new LongAdder();
+    private final LongAdder outcomesPending = new LongAdder();
+    private final AtomicLong outcomesFlushed = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong rowsUpdated = new AtomicLong();
+    private final AtomicLong rowsInserted = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+    private final Histogram flushTime;
+    private final Counter backpressureWaits;
+    
+    public PlayerStatsWriter(JdbcTemplate jdbcTemplate,
+                             LeaderboardService leaderboardService,
+                             PlatformTransactionManager transactionManager,
+                             MetricsRegistry metrics,
+                             @Value("${dicegame.stats.max-pending-players:100000}") int maxPendingPlayers,
+                             @Value("${dicegame.stats.batch-size:500}") int batchSize,
+                             @Value("${dicegame.stats.flush-interval-ms:200}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaderboardService = leaderboardService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxPendingPlayers = maxPendingPlayers;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        // The database time endGame used to spend inline now lands here
+        this.flushTime = metrics.histogram("dicegame_stats_flush_seconds",
+            "Time to write one batch of finished games' player stats", MetricsRegistry.REQUEST_BUCKETS);
+        this.backpressureWaits = metrics.counter("dicegame_stats_backpressure_waits_total",
+            "1 ms waits by game-ending callers while the stats queue was full");
+    }
+    
+    @PostConstruct
+    public void start() {
+        flusher = new Thread(this::run, "player-stats-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+    
+    /**
+     * Records a finished game. Lock free unless the number of players with pending
+     * deltas, drained or not, is over its cap, in which case the caller waits for a
+     * successful flush.
+     */
+    public void submit(GameOutcome outcome) {
+        if (!running) {
+            throw new IllegalStateException("Player stats writer is shut down");
+        }
+        long endedAt = outcome.endedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        for (String name : outcome.playerNames()) {
+            PlayerCounters player = counters.get(name);
+            if (player == null) {
+                player = newCounters(name);
+            }
+            player.games.increment();
+            if (name.equals(outcome.winnerName())) {
+                player.wins.increment();
+            }
+            player.lastPlayed.accumulateAndGet(endedAt, Math::max);
+        }
+        outcomesQueued.increment();
+        outcomesPending.increment();
+    }
+    
+    private PlayerCounters newCounters(String name) {
+        while (pendingPlayers() >= maxPendingPlayers && running) {
+            // Backpressure: only players without counters add entries, so wait for a flush to land
+            LockSupport.unpark(flusher);
+            backpressureWaits.increment();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        PlayerCounters created = new PlayerCounters(name);
+        PlayerCounters existing = counters.putIfAbsent(name, created);
+        if (existing != null) {
+            return existing;
+        }
+        if (counters.size() >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+        return created;
+    }
+    
+    // Players may be counted twice while both counting and awaiting a retry, which only makes the cap stricter
+    private int pendingPlayers() {
+        return counters.size() + unflushedPlayers;
+    }
+    
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            flush();
+        }
+        // Final drains; later passes pick up counters retired by the first
+        do {
+            flush();
+        } while (!retired.isEmpty() && unflushed.isEmpty());
+    }
+    
+    private void flush() {
+        long outcomes = outcomesPending.sumThenReset();
+        drainCounters();
+        unflushedPlayers = unflushed.size();
+        if (unflushed.isEmpty()) {
+            return;
+        }
+        
+        List<PlayerDelta> deltas = new ArrayList<>(unflushed.values());
+        List<LeaderboardService.Entry> totals = new ArrayList<>(deltas.size());
+        long started = System.nanoTime();
+        try {
+            int[] counts = transactionTemplate.execute(status -> {
+                int[] written = writeDeltas(deltas);
+                readTotals(deltas, totals);
+                return written;
+            });
+            recordFlush(System.nanoTime() - started, counts);
+            leaderboardService.apply(totals);
+            outcomesFlushed.addAndGet(outcomes);
+            unflushed.clear();
+            unflushedPlayers = 0;
+        } catch (RuntimeException e) {
+            // Keep the deltas and retry on the next cycle; nothing is lost while the database is down
+            outcomesPending.add(outcomes);
+            failedFlushes.incrementAndGet();
+            log.warn("Flushing {} player stat deltas failed, will retry", deltas.size(), e);
+        }
+    }
+    
+    private void drainCounters() {
+        List<PlayerCounters> stillRetired = new ArrayList<>();
+        for (PlayerCounters player : retired) {
+            // A late increment keeps the counters around for another look
+            if (drain(player)) {
+                stillRetired.add(player);
+            }
+        }
+        retired = stillRetired;
+        
+        for (PlayerCounters player : counters.values()) {
+            if (drain(player)) {
+                player.idleFlushes = 0;
+            } else if (++player.idleFlushes >= IDLE_FLUSHES_BEFORE_RETIRE && counters.remove(player.name, player)) {
+                retired.add(player);
+            }
+        }
+    }
+    
+    private boolean drain(PlayerCounters player) {
+        // sumThenReset swaps each cell to zero atomically, so concurrent increments land in this delta or the next
+        long games = player.games.sumThenReset();
+        long wins = player.wins.sumThenReset();
+        if (games == 0 && wins == 0) {
+            return false;
+        }
+        PlayerDelta delta = unflushed.computeIfAbsent(player.name, PlayerDelta::new);
+        delta.games += games;
+        delta.wins += wins;
+        delta.lastPlayedMillis = Math.max(delta.lastPlayedMillis, player.lastPlayed.get());
+        return true;
+    }
+    
+    private int[] writeDeltas(List<PlayerDelta> deltas) {
+        int[] updateCounts = jdbcTemplate.batchUpdate(UPDATE_SQL, deltas, deltas.size(), (ps, delta) -> {
+            Timestamp lastPlayed = delta.lastPlayed();
+            ps.setLong(1, delta.games);
+            ps.setLong(2, delta.wins);
+            ps.setTimestamp(3, lastPlayed);
+            ps.setTimestamp(4, lastPlayed);
+            ps.setString(5, delta.name);
+        })[0];
+        
+        List<PlayerDelta> missing = new ArrayList<>();
+        for (int i = 0; i < deltas.size(); i++) {
+            if (updateCounts[i] == 0) {
+                missing.add(deltas.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, missing, missing.size(), (ps, delta) -> {
+                Timestamp lastPlayed = delta.lastPlayed();
+                ps.setString(1, delta.name);
+                ps.setLong(2, delta.games);
+                ps.setLong(3, delta.wins);
+                ps.setTimestamp(4, lastPlayed);
+                ps.setTimestamp(5, lastPlayed);
+            });
+        }
+        return new int[] { deltas.size() - missing.size(), missing.size() };
+    }
+    
+    private void readTotals(List<PlayerDelta> deltas, List<LeaderboardService.Entry> totals) {
+        for (int from = 0; from < deltas.size(); from += batchSize) {
+            List<PlayerDelta> chunk = deltas.subList(from, Math.min(deltas.size(), from + batchSize));
+            String sql = String.format(SELECT_TOTALS_SQL, String.join(",", Collections.nCopies(chunk.size(), "?")));
+            Object[] names = chunk.stream().map(delta -> delta.name).toArray();
+            totals.addAll(jdbcTemplate.query(sql, (rs, row) -> new LeaderboardService.Entry(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getInt("total_games"),
+                rs.getInt("total_wins"),
+                rs.getTimestamp("last_played") != null ? rs.getTimestamp("last_played").toLocalDateTime() : null
+            ), names));
+        }
+    }
+    
+    private void recordFlush(long nanos, int[] counts) {
+        flushes.incrementAndGet();
+        rowsUpdated.addAndGet(counts[0]);
+        rowsInserted.addAndGet(counts[1]);
+        totalFlushNanos.addAndGet(nanos);
+        flushTime.record(nanos);
+        lastFlushNanos = nanos;
+        if (nanos > maxFlushNanos) {
+            maxFlushNanos = nanos;
+        }
+    }
+    
+    public StatsPipelineMetricsDto getMetrics() {
+        StatsPipelineMetricsDto dto = new StatsPipelineMetricsDto();
+        long flushCount = flushes.get();
+        dto.setPendingPlayers(pendingPlayers());
+        dto.setMaxPendingPlayers(maxPendingPlayers);
+        dto.setPendingOutcomes(outcomesPending.sum());
+        dto.setOutcomesQueued(outcomesQueued.sum());
+        dto.setOutcomesFlushed(outcomesFlushed.get());
+        dto.setFlushes(flushCount);
+        dto.setRowsUpdated(rowsUpdated.get());
+        dto.setRowsInserted(rowsInserted.get());
+        dto.setFailedFlushes(failedFlushes.get());
+        dto.setLastFlushMillis(lastFlushNanos / 1e6);
+        dto.setAverageFlushMillis(flushCount > 0 ? totalFlushNanos.get() / 1e6 / flushCount : 0.0);
+        dto.setMaxFlushMillis(maxFlushNanos / 1e6);
+        return dto;
+    }
+    
+    /** Stops accepting results and blocks until everything recorded has been written. */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        if (flusher.isAlive()) {
+            log.warn("Player stats writer did not drain within 30s, {} players still pending", pendingPlayers());
+        }
+    }
+    
+    private static class PlayerCounters {
+        private final String name;
+        private final LongAdder games = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+        private final AtomicLong lastPlayed = new AtomicLong();
+        private int idleFlushes; // flusher thread only
+        
+        PlayerCounters(String name) {
+            this.name = name;
+        }
+    }
+    
+    private static class PlayerDelta {
+        private final String name;
+        private long games;
+        private long wins;
+        private long lastPlayedMillis;
+        
+        PlayerDelta(String name) {
+            this.name = name;
+        }
+        
+        Timestamp lastPlayed() {
+            return Timestamp.valueOf(LocalDateTime.ofEpochSecond(
+                Math.floorDiv(lastPlayedMillis, 1000), Math.floorMod(lastPlayedMillis, 1000) * 1_000_000, ZoneOffset.UTC));
+        }
+    }
+}
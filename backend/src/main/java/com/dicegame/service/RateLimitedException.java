@@ -0,0 +1,18 @@
+package com.dicegame.service;
+
+/** A rate limit bucket is empty; the client should retry after the given delay. */
+public class RateLimitedException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public RateLimitedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,153 @@
+package com.dicegame.service;
+
+import com.dicegame.metrics.Counter;
+import com.dicegame.metrics.MetricsRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per client and per game. Each bucket is a single {@link AtomicLong}
+ * holding the time at which it will next be full (the generic cell rate algorithm),
+ * so taking a token is one compare-and-set and needs no lock or refill thread.
+ * Buckets that have filled up again are dropped by a periodic sweep.
+ */
+@Component
+public class RateLimiter {
+
+    /** Request attribute holding the client key the rate limit filter charged, for per-command limits. */
+    public static final String CLIENT_ATTRIBUTE = "com.dicegame.service.RateLimiter.client";
+
+    public enum Scope {
+        /** Every game API request from one client. */
+        CLIENT,
+        /** Games started by one client. */
+        CLIENT_START,
+        /** Requests for one game, from any client. */
+        GAME
+    }
+
+    private static final class Limit {
+        final long intervalNanos;
+        final long toleranceNanos;
+        final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        final Counter rejected;
+
+        Limit(double perSecond, int burst, Counter rejected) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.toleranceNanos = intervalNanos * Math.max(burst - 1, 0);
+            this.rejected = rejected;
+        }
+    }
+
+    private final boolean enabled;
+    private final long sweepIntervalMillis;
+    private final Map<Scope, Limit> limits = new EnumMap<>(Scope.class);
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rate-limit-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RateLimiter(MetricsRegistry metrics,
+                       @Value("${dicegame.ratelimit.enabled:true}") boolean enabled,
+                       @Value("${dicegame.ratelimit.client.per-second:50}") double clientPerSecond,
+                       @Value("${dicegame.ratelimit.client.burst:100}") int clientBurst,
+                       @Value("${dicegame.ratelimit.start.per-second:1}") double startPerSecond,
+                       @Value("${dicegame.ratelimit.start.burst:10}") int startBurst,
+                       @Value("${dicegame.ratelimit.game.per-second:20}") double gamePerSecond,
+                       @Value("${dicegame.ratelimit.game.burst:40}") int gameBurst,
+                       @Value("${dicegame.ratelimit.sweep-interval-ms:10000}") long sweepIntervalMillis) {
+        this.enabled = enabled;
+        this.sweepIntervalMillis = sweepIntervalMillis;
+        limits.put(Scope.CLIENT, new Limit(clientPerSecond, clientBurst, rejectedCounter(metrics, Scope.CLIENT)));
+        limits.put(Scope.CLIENT_START, new Limit(startPerSecond, startBurst, rejectedCounter(metrics, Scope.CLIENT_START)));
+        limits.put(Scope.GAME, new Limit(gamePerSecond, gameBurst, rejectedCounter(metrics, Scope.GAME)));
+        metrics.gauge("dicegame_ratelimit_buckets", "Rate limit buckets currently tracked",
+            () -> limits.values().stream().mapToInt(limit -> limit.buckets.size()).sum());
+    }
+
+    private static Counter rejectedCounter(MetricsRegistry metrics, Scope scope) {
+        return metrics.counter("dicegame_requests_rejected_total", "Requests refused with 429",
+            "reason", scope.name().toLowerCase());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a token from the key's bucket. Returns 0 if one was available, otherwise
+     * the nanoseconds until one will be; nothing is taken in that case.
+     */
+    public long tryAcquire(Scope scope, String key) {
+        if (!enabled) {
+            return 0;
+        }
+        Limit limit = limits.get(scope);
+        long now = System.nanoTime();
+        AtomicLong bucket = limit.buckets.get(key);
+        if (bucket == null) {
+            bucket = limit.buckets.computeIfAbsent(key, ignored -> new AtomicLong(now));
+        }
+        while (true) {
+            long full = bucket.get();
+            // Full at or before now means the whole burst is available
+            long next = (full - now < 0 ? now : full) + limit.intervalNanos;
+            long wait = next - now - limit.toleranceNanos - limit.intervalNanos;
+            if (wait > 0) {
+                limit.rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Takes a token, or throws {@link RateLimitedException} when the bucket is empty.
+     * For requests that carry several commands, such as batches.
+     */
+    public void acquire(Scope scope, String key) {
+        long wait = tryAcquire(scope, key);
+        if (wait > 0) {
+            throw new RateLimitedException("Rate limit exceeded for " + scope.name().toLowerCase(),
+                retryAfterSeconds(wait));
+        }
+    }
+
+    /** A wait from {@link #tryAcquire} in whole seconds, rounded up. */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+    }
+
+    // Drops buckets that are full again; a client coming back gets a fresh, equally full one
+    private void sweep() {
+        long now = System.nanoTime();
+        for (Limit limit : limits.values()) {
+            limit.buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+    }
+}
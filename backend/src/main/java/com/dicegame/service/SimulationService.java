@@ -0,0 +1,119 @@
+package com.dicegame.service;
+
+import com.dicegame.dto.SimulationRequest;
+import com.dicegame.dto.SimulationResultDto;
+import com.dicegame.model.DiceRules;
+import com.dicegame.model.GameSimulator;
+import com.dicegame.model.ScoringRule;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs simulation batches on a dedicated fork-join pool, off the request threads.
+ * A batch may throw at most {@code dicegame.simulation.max-rolls} dice, and at most
+ * {@code dicegame.simulation.max-concurrent} batches run at once; more are refused
+ * with {@link OverloadedException} rather than queued.
+ */
+@Service
+public class SimulationService {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final ForkJoinPool pool;
+    private final long maxRolls;
+    private final int maxPlayers;
+    private final Semaphore running;
+
+    public SimulationService(@Value("${dicegame.simulation.parallelism:0}") int parallelism,
+                             @Value("${dicegame.simulation.max-rolls:200000000}") long maxRolls,
+                             @Value("${dicegame.simulation.max-concurrent:2}") int maxConcurrent,
+                             @Value("${dicegame.games.max-players:100}") int maxPlayers) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+            forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("simulation-worker-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+        this.maxRolls = maxRolls;
+        this.maxPlayers = maxPlayers;
+        this.running = new Semaphore(maxConcurrent);
+    }
+
+    /** Validates the request and starts the batch; the future completes when it has been played. */
+    public CompletableFuture<SimulationResultDto> simulate(SimulationRequest request) {
+        int players = request.getPlayers() != null ? request.getPlayers() : 2;
+        if (players < 2 || players > maxPlayers) {
+            throw new IllegalArgumentException("Players must be between 2 and " + maxPlayers);
+        }
+        DiceRules rules = new DiceRules(
+            request.getDice() != null ? request.getDice() : DiceRules.DEFAULT.diceCount(),
+            request.getFaces() != null ? request.getFaces() : DiceRules.DEFAULT.faces(),
+            request.getScoring() != null ? ScoringRule.parse(request.getScoring()) : DiceRules.DEFAULT.scoring());
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        GameSimulator simulator = new GameSimulator(request.getRounds(), players, rules, seed);
+        long rolls = simulator.rolls(request.getGames());
+        if (rolls > maxRolls) {
+            throw new IllegalArgumentException("Simulation would throw " + rolls + " dice; the limit is " + maxRolls);
+        }
+        if (!running.tryAcquire()) {
+            throw new OverloadedException("Too many simulations running", RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long started = System.nanoTime();
+                GameSimulator.Result result = simulator.simulate(request.getGames(), pool);
+                long elapsedNanos = System.nanoTime() - started;
+                return convertToSimulationResultDto(result, players, rules, seed, rolls, elapsedNanos);
+            }, pool).whenComplete((result, error) -> running.release());
+        } catch (RuntimeException e) {
+            running.release();
+            throw e;
+        }
+    }
+
+    private SimulationResultDto convertToSimulationResultDto(GameSimulator.Result result, int players, DiceRules rules,
+                                                             long seed, long rolls, long elapsedNanos) {
+        double games = result.getGames();
+
+        SimulationResultDto dto = new SimulationResultDto();
+        dto.setRounds(result.getRounds());
+        dto.setPlayers(players);
+        dto.setDice(rules.diceCount());
+        dto.setFaces(rules.faces());
+        dto.setScoring(rules.scoring().name().toLowerCase());
+        dto.setGames(result.getGames());
+        dto.setSeed(seed);
+        dto.setWins(result.getWins());
+        dto.setDraws(result.getDraws());
+        dto.setWinRates(divide(result.getWins(), games));
+        dto.setDrawRate(result.getDraws() / games);
+        dto.setAverageScores(divide(result.getScoreTotals(), games));
+        dto.setThrowScoreDistribution(result.getThrowScoreCounts());
+        dto.setPlayer1RoundWinDistribution(result.getPlayer1RoundWinCounts());
+        dto.setTotalRolls(rolls);
+        dto.setElapsedMillis(elapsedNanos / 1_000_000);
+        dto.setRollsPerSecond(elapsedNanos > 0 ? rolls * 1e9 / elapsedNanos : 0.0);
+        return dto;
+    }
+
+    private double[] divide(long[] counts, double games) {
+        double[] ratios = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            ratios[i] = counts[i] / games;
+        }
+        return ratios;
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+}
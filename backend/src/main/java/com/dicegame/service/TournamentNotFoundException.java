@@ -0,0 +1,11 @@
+package com.dicegame.service;
+
+/** The tournament id is unknown, or the tournament was deleted or evicted. */
+public class TournamentNotFoundException extends IllegalArgumentException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public TournamentNotFoundException(String tournamentId) {
+        super("Tournament not found: " + tournamentId);
+    }
+}
@@ -0,0 +1,277 @@
+package com.dicegame.service;
+
+import com.dicegame.dto.StartTournamentRequest;
+import com.dicegame.dto.TournamentDto;
+import com.dicegame.dto.TournamentEventDto;
+import com.dicegame.dto.TournamentMatchDto;
+import com.dicegame.dto.TournamentStandingDto;
+import com.dicegame.metrics.Counter;
+import com.dicegame.metrics.MetricsRegistry;
+import com.dicegame.model.DiceRng;
+import com.dicegame.model.Tournament;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Creates tournaments, runs them on a dedicated fork-join pool so they cannot
+ * starve simulations or the request threads, and streams their progress to STOMP
+ * subscribers of /topic/tournament/{tournamentId}. Progress messages are throttled
+ * per tournament; stage and completion messages are always sent.
+ */
+@Service
+public class TournamentService {
+
+    public static final String TOPIC_PREFIX = "/topic/tournament/";
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private static final Logger log = LoggerFactory.getLogger(TournamentService.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ForkJoinPool pool;
+    private final int maxMatches;
+    private final int maxTournaments;
+    private final long progressIntervalNanos;
+    private final String defaultRng;
+    private final ConcurrentHashMap<String, Tournament> tournaments = new ConcurrentHashMap<>();
+    private final Counter tournamentsStarted;
+    private final Counter matchesPlayed;
+
+    public TournamentService(SimpMessagingTemplate messagingTemplate,
+                             MetricsRegistry metrics,
+                             @Value("${dicegame.tournament.parallelism:0}") int parallelism,
+                             @Value("${dicegame.tournament.max-matches:200000}") int maxMatches,
+                             @Value("${dicegame.tournament.max-tournaments:64}") int maxTournaments,
+                             @Value("${dicegame.tournament.progress-interval-ms:250}") long progressIntervalMillis,
+                             @Value("${dicegame.rng.default:counter}") String defaultRng) {
+        this.messagingTemplate = messagingTemplate;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+            forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("tournament-worker-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+        this.maxMatches = maxMatches;
+        this.maxTournaments = maxTournaments;
+        this.progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(progressIntervalMillis);
+        this.defaultRng = defaultRng;
+        this.tournamentsStarted = metrics.counter("dicegame_tournaments_started_total", "Tournaments started");
+        this.matchesPlayed = metrics.counter("dicegame_tournament_matches_total", "Tournament matches completed, byes included");
+        metrics.gauge("dicegame_tournaments_running", "Tournaments with matches still to play",
+            () -> tournaments.values().stream().filter(t -> t.getStatus() == Tournament.Status.RUNNING).count());
+    }
+
+    public TournamentDto startTournament(StartTournamentRequest request) {
+        Tournament.Format format = parseFormat(request.getFormat());
+        // Sized before anything is built, so a huge entrantCount costs nothing
+        int entrantCount = request.getEntrants() != null ? request.getEntrants().size() : request.getEntrantCount();
+        long matches = matchCount(format, entrantCount);
+        if (matches > maxMatches) {
+            throw new IllegalArgumentException("Tournament would have " + matches + " matches; the limit is " + maxMatches);
+        }
+        List<String> entrants = request.getEntrants() != null ? request.getEntrants()
+            : IntStream.rangeClosed(1, entrantCount).mapToObj(i -> "Entrant " + i).toList();
+        if (tournaments.size() >= maxTournaments && !evictOldestFinished()) {
+            throw new OverloadedException("Too many tournaments running", RETRY_AFTER_SECONDS);
+        }
+
+        DiceRng.Type rngType = DiceRng.parseType(request.getRng() != null ? request.getRng() : defaultRng);
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        String tournamentId = UUID.randomUUID().toString();
+        Tournament tournament = new Tournament(tournamentId, format, entrants, request.getRounds(), rngType, seed);
+
+        tournaments.put(tournamentId, tournament);
+        tournamentsStarted.increment();
+        tournament.start(pool, new Progress());
+        return convertToTournamentDto(tournament);
+    }
+
+    public TournamentDto getTournament(String tournamentId) {
+        return convertToTournamentDto(getExisting(tournamentId));
+    }
+
+    public List<TournamentStandingDto> getStandings(String tournamentId, int page, int size) {
+        Tournament tournament = getExisting(tournamentId);
+        checkPage(page, size);
+        int[] ranking = tournament.getRanking();
+        List<TournamentStandingDto> result = new ArrayList<>();
+        for (int rank = page * size; rank < ranking.length && rank < (page + 1) * size; rank++) {
+            int entrant = ranking[rank];
+            int eliminated = tournament.getEliminatedInStage(entrant);
+            result.add(new TournamentStandingDto(rank + 1, tournament.getEntrant(entrant),
+                tournament.getWins(entrant) + tournament.getDraws(entrant) + tournament.getLosses(entrant),
+                tournament.getWins(entrant), tournament.getDraws(entrant), tournament.getLosses(entrant),
+                tournament.getPoints(entrant), tournament.getRoundDifference(entrant),
+                eliminated > 0 ? eliminated : null));
+        }
+        return result;
+    }
+
+    /** Matches in bracket order, optionally of a single stage. */
+    public List<TournamentMatchDto> getMatches(String tournamentId, Integer stage, int page, int size) {
+        Tournament tournament = getExisting(tournamentId);
+        checkPage(page, size);
+        if (stage != null && (stage < 1 || stage > tournament.getStageCount())) {
+            throw new IllegalArgumentException("Stage must be between 1 and " + tournament.getStageCount());
+        }
+        int from = stage != null ? tournament.getStageStart(stage) : 0;
+        int to = stage != null ? tournament.getStageEnd(stage) : tournament.getMatchCount();
+        List<TournamentMatchDto> result = new ArrayList<>();
+        for (int match = from + page * size; match < to && match < from + (page + 1) * size; match++) {
+            result.add(convertToTournamentMatchDto(tournament, match));
+        }
+        return result;
+    }
+
+    /** Cancels the tournament if it is still running and forgets it. */
+    public void deleteTournament(String tournamentId) {
+        Tournament tournament = tournaments.remove(tournamentId);
+        if (tournament == null) {
+            throw new TournamentNotFoundException(tournamentId);
+        }
+        tournament.cancel();
+    }
+
+    private Tournament getExisting(String tournamentId) {
+        Tournament tournament = tournaments.get(tournamentId);
+        if (tournament == null) {
+            throw new TournamentNotFoundException(tournamentId);
+        }
+        return tournament;
+    }
+
+    private boolean evictOldestFinished() {
+        return tournaments.values().stream()
+            .filter(t -> t.getStatus() != Tournament.Status.RUNNING)
+            .min(Comparator.comparingLong(Tournament::getStartedNanos))
+            .map(t -> tournaments.remove(t.getId(), t))
+            .orElse(false);
+    }
+
+    private static Tournament.Format parseFormat(String name) {
+        if (name == null) {
+            return Tournament.Format.KNOCKOUT;
+        }
+        try {
+            return Tournament.Format.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown tournament format: " + name);
+        }
+    }
+
+    private static long matchCount(Tournament.Format format, int entrants) {
+        if (entrants < 2) {
+            return 0;
+        }
+        return format == Tournament.Format.KNOCKOUT ? (Long.highestOneBit(entrants - 1L) << 1) - 1
+            : (long) entrants * (entrants - 1) / 2;
+    }
+
+    private static void checkPage(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private TournamentDto convertToTournamentDto(Tournament tournament) {
+        int completed = tournament.getMatchesCompleted();
+        long elapsedNanos = tournament.getElapsedNanos();
+        return new TournamentDto(
+            tournament.getId(),
+            tournament.getFormat().name().toLowerCase(),
+            tournament.getStatus().name().toLowerCase(),
+            tournament.getEntrantCount(),
+            tournament.getMatchRounds(),
+            tournament.getRngType().name().toLowerCase(),
+            tournament.getSeed(),
+            tournament.getStageCount(),
+            tournament.getMatchCount(),
+            completed,
+            tournament.getEntrant(tournament.getChampion()),
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            elapsedNanos > 0 ? completed * 1e9 / elapsedNanos : 0.0,
+            tournament.getFailure()
+        );
+    }
+
+    private TournamentMatchDto convertToTournamentMatchDto(Tournament tournament, int match) {
+        int winner = tournament.getWinner(match);
+        String status = winner == Tournament.TBD ? "pending"
+            : tournament.getPlayerB(match) == Tournament.BYE ? "bye" : "complete";
+        return new TournamentMatchDto(
+            match,
+            tournament.getStage(match),
+            tournament.getEntrant(tournament.getPlayerA(match)),
+            tournament.getEntrant(tournament.getPlayerB(match)),
+            status,
+            tournament.getEntrant(winner),
+            tournament.getRoundWinsA(match),
+            tournament.getRoundWinsB(match)
+        );
+    }
+
+    private void publish(Tournament tournament, String type, Integer stage) {
+        messagingTemplate.convertAndSend(TOPIC_PREFIX + tournament.getId(), new TournamentEventDto(
+            type,
+            tournament.getId(),
+            tournament.getStatus().name().toLowerCase(),
+            tournament.getMatchesCompleted(),
+            tournament.getMatchCount(),
+            stage,
+            tournament.getEntrant(tournament.getChampion())
+        ));
+    }
+
+    // One per tournament; the deadline keeps progress to one message per interval across all workers
+    private final class Progress implements Tournament.Listener {
+        private final AtomicLong nextProgressNanos = new AtomicLong(System.nanoTime());
+
+        @Override
+        public void onMatchComplete(Tournament tournament, int match) {
+            matchesPlayed.increment();
+            long now = System.nanoTime();
+            long next = nextProgressNanos.get();
+            if (now - next >= 0 && nextProgressNanos.compareAndSet(next, now + progressIntervalNanos)) {
+                publish(tournament, "progress", null);
+            }
+        }
+
+        @Override
+        public void onStageComplete(Tournament tournament, int stage) {
+            publish(tournament, "stage_complete", stage);
+        }
+
+        @Override
+        public void onFinished(Tournament tournament) {
+            publish(tournament, "finished", null);
+            if (tournament.getStatus() == Tournament.Status.FAILED) {
+                log.error("Tournament {} failed: {}", tournament.getId(), tournament.getFailure());
+            } else {
+                log.info("Tournament {} {} after {} of {} matches in {} ms", tournament.getId(),
+                    tournament.getStatus().name().toLowerCase(), tournament.getMatchesCompleted(),
+                    tournament.getMatchCount(), TimeUnit.NANOSECONDS.toMillis(tournament.getElapsedNanos()));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+}
@@ -10,7 +10,7 @@ interface GameScreenProps {
 }
 
 export function GameScreen({ onGameEnd }: GameScreenProps) {
-  const { state, rollDice, nextRound, endGame } = useGame();
+  const { state, rollDice, nextRound, endGame, serverRollsForComputer } = useGame();
   const [activePlayer, setActivePlayer] = useState<0 | 1>(0);
   const [roundComplete, setRoundComplete] = useState(false);
 
@@ -49,15 +49,15 @@ export function GameScreen({ onGameEnd }: GameScreenProps) {
     setRoundComplete(false);
   };
 
-  // Auto-roll for computer player
+  // Auto-roll for computer player, unless the server already rolls for it
   useEffect(() => {
-    if (state.players[activePlayer].isComputer && !state.isRolling && !roundComplete) {
+    if (state.players[activePlayer].isComputer && !serverRollsForComputer && !state.isRolling && !roundComplete) {
       const timer = setTimeout(() => {
         handleRoll();
       }, 1500);
       return () => clearTimeout(timer);
     }
-  }, [activePlayer, state.players, state.isRolling, roundComplete]);
+  }, [activePlayer, state.players, serverRollsForComputer, state.isRolling, roundComplete]);
 
   return (
     <div className="min-h-screen p-4 flex flex-col">
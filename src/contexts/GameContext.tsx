@@ -1,6 +1,6 @@
 import React, { createContext, useContext, useReducer, ReactNode } from 'react';
 import { GameState, GameMode, Player, DiceRoll, GameResult, DiceValue } from '../types/game';
-import { apiService } from '../services/api';
+import { apiService, GameStateResponse } from '../services/api';
 
 interface GameContextType {
   state: GameState;
@@ -10,6 +10,8 @@ interface GameContextType {
   endGame: () => GameResult;
   resetGame: () => void;
   gameId: string | null;
+  // Set once the server has rolled for the computer; computer turns are then left to it
+  serverRollsForComputer: boolean;
 }
 
 const initialState: GameState = {
@@ -28,13 +30,17 @@ const initialState: GameState = {
 type GameAction =
   | { type: 'START_GAME'; payload: { mode: GameMode; rounds: number } }
   | { type: 'SET_GAME_ID'; payload: string }
-  | { type: 'UPDATE_FROM_BACKEND'; payload: any }
+  | { type: 'UPDATE_FROM_BACKEND'; payload: GameStateResponse }
   | { type: 'SET_ROLLING'; payload: boolean }
   | { type: 'SET_DICE_ROLL'; payload: { playerIndex: 0 | 1; roll: DiceRoll } }
   | { type: 'NEXT_ROUND' }
   | { type: 'RESET_GAME' }
   | { type: 'ADD_TO_HISTORY'; payload: GameResult };
 
+function isSlot(index: number): index is 0 | 1 {
+  return index === 0 || index === 1;
+}
+
 function gameReducer(state: GameState, action: GameAction): GameState {
   switch (action.type) {
     case 'START_GAME':
@@ -56,6 +62,33 @@ function gameReducer(state: GameState, action: GameAction): GameState {
         lastRolls: [null, null]
       };
     
+    case 'UPDATE_FROM_BACKEND': {
+      // The server's state is authoritative: names, scores and rolls are placed by its seat order
+      const game = action.payload;
+      const players = [0, 1].map(slot => ({
+        ...state.players[slot],
+        name: game.players[slot].name,
+        isComputer: game.players[slot].isComputer,
+        score: game.players[slot].score,
+        roundWins: game.players[slot].roundWins
+      })) as [Player, Player];
+      const lastRolls: [DiceRoll | null, DiceRoll | null] = [null, null];
+      game.currentRoundRolls.forEach(roll => {
+        const slot = game.players.findIndex(p => p.name === roll.playerName);
+        if (isSlot(slot)) {
+          lastRolls[slot] = { playerId: players[slot].id, value: roll.value as DiceValue, timestamp: Date.parse(roll.timestamp) };
+        }
+      });
+      return {
+        ...state,
+        mode: game.mode as GameMode,
+        maxRounds: game.maxRounds,
+        currentRound: game.currentRound,
+        players,
+        lastRolls
+      };
+    }
+    
     case 'SET_ROLLING':
       return { ...state, isRolling: action.payload };
     
@@ -117,11 +150,13 @@ const GameContext = createContext<GameContextType | undefined>(undefined);
 export function GameProvider({ children }: { children: ReactNode }) {
   const [state, dispatch] = useReducer(gameReducer, initialState);
   const [gameId, setGameId] = React.useState<string | null>(null);
+  const [serverRollsForComputer, setServerRollsForComputer] = React.useState(false);
 
   const startGame = async (mode: GameMode, rounds: number) => {
     try {
       const response = await apiService.startGame({ mode, rounds });
       setGameId(response.gameId);
+      setServerRollsForComputer(false);
       dispatch({ type: 'UPDATE_FROM_BACKEND', payload: response });
     } catch (error) {
       console.error('Failed to start game:', error);
@@ -136,7 +171,11 @@ export function GameProvider({ children }: { children: ReactNode }) {
     try {
       if (gameId) {
         const response = await apiService.rollDice(gameId, playerName);
+        // The state carries this roll and any the server made for the computer in the same request
         dispatch({ type: 'UPDATE_FROM_BACKEND', payload: response.gameState });
+        if (response.computerRolls?.length) {
+          setServerRollsForComputer(true);
+        }
         // Add a small delay to show the animation
         await new Promise(resolve => setTimeout(resolve, 500));
         dispatch({ type: 'SET_ROLLING', payload: false });
@@ -145,7 +184,10 @@ export function GameProvider({ children }: { children: ReactNode }) {
         // Fallback to local logic
         await new Promise(resolve => setTimeout(resolve, 1500));
         const value = (Math.floor(Math.random() * 6) + 1) as DiceValue;
-        const playerIndex = state.players.findIndex(p => p.name === playerName) as 0 | 1;
+        const playerIndex = state.players.findIndex(p => p.name === playerName);
+        if (!isSlot(playerIndex)) {
+          throw new Error(`Unknown player: ${playerName}`);
+        }
         
         dispatch({
           type: 'SET_DICE_ROLL',
@@ -222,6 +264,7 @@ export function GameProvider({ children }: { children: ReactNode }) {
 
   const resetGame = () => {
     setGameId(null);
+    setServerRollsForComputer(false);
     dispatch({ type: 'RESET_GAME' });
   };
 
@@ -233,7 +276,8 @@ export function GameProvider({ children }: { children: ReactNode }) {
       nextRound,
       endGame,
       resetGame,
-      gameId
+      gameId,
+      serverRollsForComputer
     }}>
       {children}
     </GameContext.Provider>
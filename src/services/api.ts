@@ -3,6 +3,11 @@ const API_BASE_URL = 'http://localhost:8080/api';
 export interface StartGameRequest {
   mode: 'pvp' | 'pvc';
   rounds: number;
+  // Optional table rules; the server defaults to two players throwing one six-sided die
+  players?: number;
+  dice?: number;
+  faces?: number;
+  scoring?: 'sum' | 'highest' | 'pattern';
 }
 
 export interface RollDiceRequest {
@@ -16,7 +21,6 @@ export interface GameStateResponse {
   currentRound: number;
   status: string;
   players: Array<{
-    id: number;
     name: string;
     isComputer: boolean;
     score: number;
@@ -26,6 +30,7 @@ export interface GameStateResponse {
     playerName: string;
     value: number;
     timestamp: string;
+    dice?: number[];
   }>;
   gameComplete: boolean;
   roundComplete: boolean;
@@ -36,6 +41,13 @@ export interface DiceRollResponse {
   value: number;
   timestamp: string;
   gameState: GameStateResponse;
+  // Rolls the server made for the computer player in reply
+  computerRolls?: Array<{
+    playerName: string;
+    value: number;
+    timestamp: string;
+    dice?: number[];
+  }>;
 }
 
 export interface GameResultResponse {